@@ -0,0 +1,86 @@
+package com.strivesync.api.controller;
+
+import com.strivesync.api.dto.response.UserImportReport;
+import com.strivesync.security.TokenRevocationService;
+import com.strivesync.service.UserImportService;
+import com.strivesync.service.UserService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+import java.time.Instant;
+
+/**
+ * Controller for administrative user and token endpoints.
+ */
+@RestController
+@RequestMapping("/api/admin")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Administration", description = "Administrative user management endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AdminUserController {
+
+    private final UserService userService;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserImportService userImportService;
+
+    @Value("${jwt.expiration}")
+    private long jwtExpiration;
+
+    /**
+     * Revoke every token issued to a user.
+     *
+     * @param id the user ID
+     * @return an empty response
+     */
+    @PostMapping("/users/{id}/revoke-tokens")
+    @Operation(summary = "Revoke all tokens of a user", description = "Invalidates every access and refresh token issued to the user so far")
+    public ResponseEntity<Void> revokeUserTokens(@PathVariable Long id) {
+        userService.revokeTokens(id);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Revoke a single access token by its id.
+     * The id is denied for the longest possible access token lifetime.
+     *
+     * @param tokenId the token id (jti)
+     * @return an empty response
+     */
+    @PostMapping("/tokens/{tokenId}/revoke")
+    @Operation(summary = "Revoke an access token", description = "Revokes a single access token by its id (jti)")
+    public ResponseEntity<Void> revokeToken(@PathVariable String tokenId) {
+        tokenRevocationService.revoke(tokenId, Instant.now().plusMillis(jwtExpiration));
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Bulk import users from a CSV or NDJSON request body.
+     * The body is streamed, so uploads of any size are processed in bounded memory.
+     *
+     * @param request the HTTP request carrying the rows
+     * @param resumeAfter the number of data rows to skip, from the report of an interrupted import
+     * @return the import report
+     * @throws IOException if the request body can't be read
+     */
+    @PostMapping(value = "/users/import", consumes = {"text/csv", "application/x-ndjson"})
+    @Operation(summary = "Bulk import users", description = "Imports users from CSV (header: username,email,password,fullName) or NDJSON rows")
+    public ResponseEntity<UserImportReport> importUsers(
+            HttpServletRequest request,
+            @RequestParam(defaultValue = "0") long resumeAfter) throws IOException {
+        MediaType contentType = MediaType.parseMediaType(request.getContentType());
+        UserImportService.Format format = contentType.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+        return ResponseEntity.ok(userImportService.importUsers(request.getInputStream(), format, resumeAfter));
+    }
+}
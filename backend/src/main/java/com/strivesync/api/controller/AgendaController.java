@@ -0,0 +1,46 @@
+package com.strivesync.api.controller;
+
+import com.strivesync.api.dto.response.AgendaResponse;
+import com.strivesync.security.AuthenticatedUser;
+import com.strivesync.service.AgendaService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+
+/**
+ * Controller for the daily agenda endpoint.
+ */
+@RestController
+@RequestMapping("/api/agenda")
+@RequiredArgsConstructor
+@Tag(name = "Agenda", description = "Daily agenda endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class AgendaController {
+
+    private final AgendaService agendaService;
+
+    /**
+     * Get the tasks due for the current user on a date.
+     *
+     * @param user the current user
+     * @param date the date, today if absent
+     * @return the agenda
+     */
+    @GetMapping
+    @Operation(summary = "Get the current user's agenda", description = "Returns the tasks due on a date across all of the current user's running challenges")
+    public ResponseEntity<AgendaResponse> getAgenda(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(agendaService.getAgenda(user.getId(), date != null ? date : LocalDate.now()));
+    }
+}
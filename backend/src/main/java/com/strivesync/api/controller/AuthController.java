@@ -1,28 +1,45 @@
 package com.strivesync.api.controller;
 
 import com.strivesync.api.dto.request.LoginRequest;
+import com.strivesync.api.dto.request.LogoutRequest;
+import com.strivesync.api.dto.request.RefreshTokenRequest;
 import com.strivesync.api.dto.request.RegisterRequest;
 import com.strivesync.api.dto.response.AuthResponse;
+import com.strivesync.api.dto.response.AvailabilityResponse;
 import com.strivesync.api.dto.response.UserSummaryResponse;
 import com.strivesync.domain.User;
+import com.strivesync.security.AuthenticatedUser;
+import com.strivesync.security.InvalidTokenException;
+import com.strivesync.security.IssuedToken;
 import com.strivesync.security.JwtService;
+import com.strivesync.security.LoginThrottle;
+import com.strivesync.security.PasswordHashingExecutor;
+import com.strivesync.security.RefreshTokenService;
+import com.strivesync.security.RefreshedTokens;
+import com.strivesync.security.TokenRevocationService;
+import com.strivesync.security.VerifiedToken;
+import com.strivesync.service.UserAvailabilityService;
 import com.strivesync.service.UserService;
+import io.jsonwebtoken.JwtException;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import java.util.stream.Collectors;
-
 /**
  * Controller for authentication endpoints.
  */
@@ -34,64 +51,79 @@ public class AuthController {
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
     private final UserService userService;
+    private final RefreshTokenService refreshTokenService;
+    private final PasswordHashingExecutor passwordHashingExecutor;
+    private final LoginThrottle loginThrottle;
+    private final TokenRevocationService tokenRevocationService;
+    private final UserAvailabilityService userAvailabilityService;
 
     /**
      * Login endpoint.
+     * Throttled IPs and accounts are rejected before any password check. Behind a proxy, the remote address is
+     * the client's as resolved from trusted forwarded headers (see {@code server.forward-headers-strategy}).
+     * Authentication runs on the bounded password hashing pool, so login bursts can't starve other requests.
      *
      * @param loginRequest the login request
+     * @param request the HTTP request
      * @return the authentication response
      */
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getUsernameOrEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest loginRequest, HttpServletRequest request) {
+        loginThrottle.checkAttempt(request.getRemoteAddr(), loginRequest.getUsernameOrEmail());
+        
+        Authentication authentication;
+        try {
+            authentication = passwordHashingExecutor.execute(() -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsernameOrEmail(),
+                            loginRequest.getPassword()
+                    )
+            ));
+        } catch (BadCredentialsException e) {
+            loginThrottle.recordFailure(loginRequest.getUsernameOrEmail());
+            throw e;
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        UserDetails userDetails = (UserDetails) authentication.getPrincipal();
+        AuthenticatedUser user = (AuthenticatedUser) authentication.getPrincipal();
         
-        User user = userService.findByUsername(userDetails.getUsername());
-        
-        String accessToken = jwtService.generateToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
-        
-        UserSummaryResponse userSummary = UserSummaryResponse.builder()
-                .id(user.getId())
-                .username(user.getUsername())
-                .email(user.getEmail())
-                .fullName(user.getFullName())
-                .profileImageUrl(user.getProfileImageUrl())
-                .roles(user.getRoles())
-                .build();
+        IssuedToken accessToken = jwtService.issueAccessToken(user);
+        String refreshToken = refreshTokenService.issue(user).getToken();
         
         return ResponseEntity.ok(AuthResponse.of(
-                accessToken,
+                accessToken.getToken(),
                 refreshToken,
-                jwtService.extractExpiration(accessToken).getTime() / 1000,
-                userSummary
+                accessToken.getExpiresAt().getEpochSecond(),
+                toUserSummary(user)
         ));
     }
 
+    /**
+     * Availability endpoint for signup forms.
+     *
+     * @param username the username to check, optional
+     * @param email the email to check, optional
+     * @return the availability of the given username and email
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<AvailabilityResponse> availability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email) {
+        return ResponseEntity.ok(AvailabilityResponse.builder()
+                .usernameAvailable(username != null ? userAvailabilityService.isUsernameAvailable(username) : null)
+                .emailAvailable(email != null ? userAvailabilityService.isEmailAvailable(email) : null)
+                .build());
+    }
+
     /**
      * Register endpoint.
+     * The user is inserted directly; a taken username or email is reported as 409 by the unique constraints.
      *
      * @param registerRequest the register request
      * @return the authentication response
      */
     @PostMapping("/register")
     public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest registerRequest) {
-        // Check if username or email already exists
-        if (userService.existsByUsername(registerRequest.getUsername())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
-        }
-        
-        if (userService.existsByEmail(registerRequest.getEmail())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).build();
-        }
-        
         // Create user
         User user = userService.createUser(
                 registerRequest.getUsername(),
@@ -99,13 +131,78 @@ public class AuthController {
                 registerRequest.getPassword(),
                 registerRequest.getFullName()
         );
+        userAvailabilityService.markTaken(user.getUsername(), user.getEmail());
+        
+        // Generate tokens from the saved user
+        AuthenticatedUser principal = AuthenticatedUser.fromUser(user);
+        IssuedToken accessToken = jwtService.issueAccessToken(principal);
+        String refreshToken = refreshTokenService.issue(principal).getToken();
+        
+        return ResponseEntity.status(HttpStatus.CREATED).body(AuthResponse.of(
+                accessToken.getToken(),
+                refreshToken,
+                accessToken.getExpiresAt().getEpochSecond(),
+                toUserSummary(principal)
+        ));
+    }
+
+    /**
+     * Refresh endpoint. Exchanges a refresh token for a new access token and a new refresh token.
+     * Each refresh token can be used only once.
+     *
+     * @param refreshTokenRequest the refresh token request
+     * @return the authentication response
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<AuthResponse> refresh(@Valid @RequestBody RefreshTokenRequest refreshTokenRequest) {
+        RefreshedTokens tokens = refreshTokenService.rotate(refreshTokenRequest.getRefreshToken());
         
-        // Generate tokens
-        UserDetails userDetails = userService.loadUserByUsername(user.getUsername());
-        String accessToken = jwtService.generateToken(userDetails);
-        String refreshToken = jwtService.generateRefreshToken(userDetails);
+        return ResponseEntity.ok(AuthResponse.of(
+                tokens.getAccessToken().getToken(),
+                tokens.getRefreshToken().getToken(),
+                tokens.getAccessToken().getExpiresAt().getEpochSecond(),
+                tokens.getUser() instanceof AuthenticatedUser user ? toUserSummary(user) : null
+        ));
+    }
+
+    /**
+     * Logout endpoint. Revokes the presented access token and, if given, the refresh token family.
+     *
+     * @param authorization the Authorization header carrying the access token
+     * @param logoutRequest the optional logout request
+     * @return an empty response
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(
+            @RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authorization,
+            @RequestBody(required = false) LogoutRequest logoutRequest) {
+        if (authorization == null || !authorization.startsWith("Bearer ")) {
+            throw new InvalidTokenException("Access token is required");
+        }
+
+        VerifiedToken accessToken;
+        try {
+            accessToken = jwtService.verify(authorization.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid access token", e);
+        }
+        tokenRevocationService.revoke(accessToken.getId(), accessToken.getExpiration());
+        
+        if (logoutRequest != null && logoutRequest.getRefreshToken() != null) {
+            refreshTokenService.revokeFamily(logoutRequest.getRefreshToken());
+        }
         
-        UserSummaryResponse userSummary = UserSummaryResponse.builder()
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Build a user summary from the authenticated principal.
+     *
+     * @param user the authenticated user
+     * @return the user summary
+     */
+    private UserSummaryResponse toUserSummary(AuthenticatedUser user) {
+        return UserSummaryResponse.builder()
                 .id(user.getId())
                 .username(user.getUsername())
                 .email(user.getEmail())
@@ -113,12 +210,5 @@ public class AuthController {
                 .profileImageUrl(user.getProfileImageUrl())
                 .roles(user.getRoles())
                 .build();
-        
-        return ResponseEntity.status(HttpStatus.CREATED).body(AuthResponse.of(
-                accessToken,
-                refreshToken,
-                jwtService.extractExpiration(accessToken).getTime() / 1000,
-                userSummary
-        ));
     }
-} 
\ No newline at end of file
+}
@@ -1,21 +1,42 @@
 package com.strivesync.api.controller;
 
+import com.strivesync.api.dto.response.ChallengeDetailResponse;
+import com.strivesync.api.dto.response.ChallengeSummaryResponse;
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
+import com.strivesync.api.dto.response.CursorPage;
+import com.strivesync.api.dto.response.SuggestionsResponse;
 import com.strivesync.domain.Challenge;
-import com.strivesync.domain.User;
-import com.strivesync.repository.ChallengeRepository;
-import com.strivesync.repository.UserRepository;
+import com.strivesync.security.AuthenticatedUser;
+import com.strivesync.service.ChallengeService;
+import com.strivesync.service.DiscoverResponseCache;
+import com.strivesync.service.SuggestionService;
+import com.strivesync.util.ETags;
+import com.strivesync.util.SerializedResponse;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Controller for challenge-related endpoints.
@@ -23,12 +44,24 @@ import java.util.List;
 @RestController
 @RequestMapping("/api/challenges")
 @RequiredArgsConstructor
+@Validated
 @Tag(name = "Challenges", description = "Challenge management endpoints")
 @SecurityRequirement(name = "Bearer Authentication")
 public class ChallengeController {
 
-    private final ChallengeRepository challengeRepository;
-    private final UserRepository userRepository;
+    /**
+     * Single challenges change rarely but must never be served stale: clients keep a copy and revalidate it.
+     */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    /**
+     * The discover listing is itself cached for a minute, so clients may reuse it for as long.
+     */
+    private static final CacheControl DISCOVER = CacheControl.maxAge(Duration.ofMinutes(1)).cachePrivate();
+
+    private final ChallengeService challengeService;
+    private final SuggestionService suggestionService;
+    private final DiscoverResponseCache discoverResponseCache;
 
     /**
      * Get all challenges.
@@ -38,66 +71,183 @@ public class ChallengeController {
      */
     @GetMapping
     @Operation(summary = "Get all challenges", description = "Returns a paginated list of all challenges")
-    public ResponseEntity<Page<Challenge>> getAllChallenges(Pageable pageable) {
-        return ResponseEntity.ok(challengeRepository.findAll(pageable));
+    public ResponseEntity<Page<ChallengeSummaryResponse>> getAllChallenges(Pageable pageable) {
+        return ResponseEntity.ok(challengeService.getChallenges(pageable));
+    }
+
+    /**
+     * Get public challenges that are active or upcoming, in start date order.
+     * The listing is the same for everyone, so it is served from pre-serialized and pre-compressed bytes;
+     * a matching If-None-Match is answered with 304.
+     *
+     * @param pageable pagination information
+     * @param acceptEncoding the encodings the client accepts
+     * @return a page of challenges, as JSON
+     */
+    @GetMapping("/discover")
+    @Operation(summary = "Discover public challenges", description = "Returns a paginated list of public active and upcoming challenges, soonest first")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+            schema = @Schema(implementation = Page.class)))
+    public ResponseEntity<byte[]> getPublicChallenges(
+            @PageableDefault(size = 20) Pageable pageable,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        SerializedResponse response = discoverResponseCache.get(pageable);
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(DISCOVER)
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (SerializedResponse.acceptsGzip(acceptEncoding)) {
+            // Already compressed, so the server's response compression leaves it alone
+            return builder.eTag(response.gzipETag())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .body(response.gzip());
+        }
+        return builder.eTag(response.etag()).body(response.identity());
+    }
+
+    /**
+     * Get a slice of the challenge feed using keyset pagination.
+     * Unlike the paged listing, the cost of a slice doesn't grow with scroll depth.
+     *
+     * @param status the status to filter by, or null for all challenges
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size the maximum number of challenges
+     * @return a slice of challenges, newest first
+     */
+    @GetMapping("/feed")
+    @Operation(summary = "Get the challenge feed", description = "Returns a cursor-paginated slice of challenges, newest first")
+    public ResponseEntity<CursorPage<ChallengeSummaryResponse>> getChallengeFeed(
+            @RequestParam(required = false) Challenge.ChallengeStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(challengeService.getChallengeFeed(status, cursor, size));
     }
 
     /**
      * Get a challenge by ID.
+     * A client revalidating its copy with If-None-Match is answered from the update stamps alone,
+     * without loading or serializing the challenge.
      *
      * @param id the challenge ID
-     * @return the challenge
+     * @param ifNoneMatch the entity tag of the client's copy, if any
+     * @return the challenge with its tasks, or 304 if the client's copy is current
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get a challenge by ID", description = "Returns a challenge by its ID")
-    public ResponseEntity<Challenge> getChallengeById(@PathVariable Long id) {
-        return challengeRepository.findById(id)
-                .map(ResponseEntity::ok)
+    @Operation(summary = "Get a challenge by ID", description = "Returns a challenge by its ID; supports conditional requests with If-None-Match")
+    public ResponseEntity<ChallengeDetailResponse> getChallengeById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = challengeService.getChallengeETag(id);
+            if (current.isPresent() && ETags.matches(ifNoneMatch, current.get())) {
+                return notModified(current.get());
+            }
+        }
+        return challengeService.getChallenge(id)
+                .map(challenge -> ResponseEntity.ok()
+                        .cacheControl(REVALIDATE)
+                        .eTag(challengeService.getChallengeETag(challenge))
+                        .body(challenge))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Get the tasks of a challenge.
+     * A client revalidating its copy with If-None-Match is answered from the update stamps alone.
+     *
+     * @param id the challenge ID
+     * @param ifNoneMatch the entity tag of the client's copy, if any
+     * @return the tasks, highest points first, or 304 if the client's copy is current
+     */
+    @GetMapping("/{id}/tasks")
+    @Operation(summary = "Get the tasks of a challenge", description = "Returns the tasks of a challenge ordered by points; supports conditional requests with If-None-Match")
+    public ResponseEntity<List<ChallengeTaskResponse>> getTasks(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Optional<String> current = challengeService.getTasksETag(id);
+            if (current.isPresent() && ETags.matches(ifNoneMatch, current.get())) {
+                return notModified(current.get());
+            }
+        }
+        List<ChallengeTaskResponse> tasks = challengeService.getTasks(id);
+        return ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .eTag(challengeService.getTasksETag(id, tasks))
+                .body(tasks);
+    }
+
     /**
      * Search for challenges by title or description.
      *
      * @param query the search query
      * @param pageable pagination information
-     * @return a page of challenges matching the search query
+     * @return a slice of challenges matching the search query
      */
     @GetMapping("/search")
-    @Operation(summary = "Search for challenges", description = "Returns a paginated list of challenges matching the search query")
-    public ResponseEntity<Page<Challenge>> searchChallenges(@RequestParam String query, Pageable pageable) {
-        return ResponseEntity.ok(challengeRepository.searchByTitleOrDescription(query, pageable));
+    @Operation(summary = "Search for challenges", description = "Returns a slice of challenges matching the search query, without a total count")
+    public ResponseEntity<Slice<ChallengeSummaryResponse>> searchChallenges(@RequestParam String query, Pageable pageable) {
+        return ResponseEntity.ok(challengeService.searchChallenges(query, pageable));
+    }
+
+    /**
+     * Get as-you-type suggestions for challenge titles and usernames.
+     * Served from an in-memory index, so it's cheap enough to call on every keystroke.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions of each kind
+     * @return the suggestions, most popular first
+     */
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest challenges and users", description = "Returns challenges and users with a word in their title or username starting with the prefix")
+    public ResponseEntity<SuggestionsResponse> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(20) int limit) {
+        return ResponseEntity.ok(suggestionService.suggest(prefix, limit));
     }
 
     /**
      * Get challenges created by the current user.
      *
-     * @param userDetails the current user
+     * @param user the current user
      * @param pageable pagination information
      * @return a page of challenges created by the current user
      */
     @GetMapping("/my-challenges")
     @Operation(summary = "Get challenges created by the current user", description = "Returns a paginated list of challenges created by the current user")
-    public ResponseEntity<Page<Challenge>> getMyChallenges(
-            @AuthenticationPrincipal UserDetails userDetails,
+    public ResponseEntity<Page<ChallengeSummaryResponse>> getMyChallenges(
+            @AuthenticationPrincipal AuthenticatedUser user,
             Pageable pageable) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return ResponseEntity.ok(challengeRepository.findByCreatedBy(user, pageable));
+        return ResponseEntity.ok(challengeService.getChallengesCreatedBy(user.getId(), pageable));
     }
 
     /**
      * Get challenges the current user is participating in.
      *
-     * @param userDetails the current user
-     * @return a list of challenges the current user is participating in
+     * @param user the current user
+     * @param status the status to filter by, or null for all challenges
+     * @param pageable pagination information
+     * @return a slice of challenges the current user is participating in, newest first
      */
     @GetMapping("/participating")
-    @Operation(summary = "Get challenges the current user is participating in", description = "Returns a list of challenges the current user is participating in")
-    public ResponseEntity<List<Challenge>> getParticipatingChallenges(
-            @AuthenticationPrincipal UserDetails userDetails) {
-        User user = userRepository.findByUsername(userDetails.getUsername())
-                .orElseThrow(() -> new IllegalArgumentException("User not found"));
-        return ResponseEntity.ok(List.copyOf(user.getParticipatingChallenges()));
+    @Operation(summary = "Get challenges the current user is participating in", description = "Returns a paginated slice of challenges the current user is participating in, newest first")
+    public ResponseEntity<Slice<ChallengeSummaryResponse>> getParticipatingChallenges(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) Challenge.ChallengeStatus status,
+            @PageableDefault(size = 20) Pageable pageable) {
+        return ResponseEntity.ok(challengeService.getParticipatingChallenges(user.getId(), status, pageable));
+    }
+
+    /**
+     * Build a 304 response confirming the client's copy.
+     *
+     * @param etag the current entity tag
+     * @return the response
+     */
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .cacheControl(REVALIDATE)
+                .eTag(etag)
+                .build();
     }
-} 
\ No newline at end of file
+}
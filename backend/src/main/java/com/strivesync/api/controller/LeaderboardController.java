@@ -0,0 +1,80 @@
+package com.strivesync.api.controller;
+
+import com.strivesync.api.dto.response.LeaderboardResponse;
+import com.strivesync.security.AuthenticatedUser;
+import com.strivesync.service.LeaderboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for challenge leaderboard endpoints.
+ */
+@RestController
+@RequestMapping("/api/challenges/{challengeId}/leaderboard")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Leaderboards", description = "Challenge leaderboard endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class LeaderboardController {
+
+    private final LeaderboardService leaderboardService;
+
+    /**
+     * Get the top of a challenge leaderboard.
+     *
+     * @param challengeId the challenge ID
+     * @param user the current user
+     * @param limit the maximum number of entries
+     * @return the top entries, with the current user's position
+     */
+    @GetMapping
+    @Operation(summary = "Get the top of a challenge leaderboard", description = "Returns the users with the most approved points in a challenge, with the current user's position")
+    public ResponseEntity<LeaderboardResponse> getTop(
+            @PathVariable Long challengeId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "10") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(leaderboardService.getTop(challengeId, user.getId(), limit));
+    }
+
+    /**
+     * Get the part of a challenge leaderboard around the current user.
+     *
+     * @param challengeId the challenge ID
+     * @param user the current user
+     * @param radius the number of entries above and below the current user
+     * @return the entries around the current user
+     */
+    @GetMapping("/me")
+    @Operation(summary = "Get the leaderboard around the current user", description = "Returns the current user's position in a challenge with the users ranked just above and below")
+    public ResponseEntity<LeaderboardResponse> getAroundMe(
+            @PathVariable Long challengeId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(defaultValue = "5") @Min(0) @Max(50) int radius) {
+        return ResponseEntity.ok(leaderboardService.getAround(challengeId, user.getId(), radius));
+    }
+
+    /**
+     * Rebuild a challenge leaderboard from the database.
+     *
+     * @param challengeId the challenge ID
+     * @return 204 once rebuilt, or 409 if a rebuild is already running
+     */
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild a challenge leaderboard", description = "Recomputes a challenge leaderboard from approved completions (admin only)")
+    public ResponseEntity<Void> rebuild(@PathVariable Long challengeId) {
+        return leaderboardService.rebuild(challengeId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.status(HttpStatus.CONFLICT).build();
+    }
+}
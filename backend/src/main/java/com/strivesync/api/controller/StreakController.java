@@ -0,0 +1,66 @@
+package com.strivesync.api.controller;
+
+import com.strivesync.api.dto.response.StreakResponse;
+import com.strivesync.security.AuthenticatedUser;
+import com.strivesync.service.StreakService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+
+/**
+ * Controller for streak and consistency endpoints.
+ */
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+@Tag(name = "Streaks", description = "Streak and consistency endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class StreakController {
+
+    private final StreakService streakService;
+
+    /**
+     * Get the current user's streaks in a challenge.
+     *
+     * @param challengeId the challenge ID
+     * @param user the current user
+     * @param from the start of the completion rate window, the challenge start date if absent
+     * @param to the end of the completion rate window, today or the challenge end date if absent
+     * @return the streaks and completion rate
+     */
+    @GetMapping("/challenges/{challengeId}/streak")
+    @Operation(summary = "Get the current user's streak in a challenge", description = "Returns the current and longest runs of days with approved completions in a challenge, and the completion rate over a window")
+    public ResponseEntity<StreakResponse> getChallengeStreak(
+            @PathVariable Long challengeId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(streakService.getChallengeStreak(user.getId(), challengeId, from, to));
+    }
+
+    /**
+     * Get the current user's streaks on a task.
+     *
+     * @param taskId the task ID
+     * @param user the current user
+     * @param from the start of the completion rate window, the challenge start date if absent
+     * @param to the end of the completion rate window, today or the challenge end date if absent
+     * @return the streaks and completion rate
+     */
+    @GetMapping("/tasks/{taskId}/streak")
+    @Operation(summary = "Get the current user's streak on a task", description = "Returns the current and longest runs of due days with approved completions of a task, and the completion rate over a window")
+    public ResponseEntity<StreakResponse> getTaskStreak(
+            @PathVariable Long taskId,
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(streakService.getTaskStreak(user.getId(), taskId, from, to));
+    }
+}
@@ -0,0 +1,219 @@
+package com.strivesync.api.controller;
+
+import com.strivesync.api.dto.request.CompletionBatchRequest;
+import com.strivesync.api.dto.response.CompletionBatchResponse;
+import com.strivesync.api.dto.response.CursorPage;
+import com.strivesync.api.dto.response.TaskCompletionResponse;
+import com.strivesync.domain.TaskCompletion;
+import com.strivesync.security.AuthenticatedUser;
+import com.strivesync.security.TooManyRequestsException;
+import com.strivesync.service.TaskCompletionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncTask;
+
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Controller for task completion endpoints.
+ */
+@RestController
+@RequestMapping("/api/completions")
+@RequiredArgsConstructor
+@Validated
+@Tag(name = "Task Completions", description = "Task completion endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class TaskCompletionController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType GZIP = MediaType.parseMediaType("application/gzip");
+    private static final int GZIP_BUFFER_SIZE = 8192;
+    private static final long EXPORT_RETRY_AFTER_SECONDS = 60;
+
+    private final TaskCompletionService taskCompletionService;
+
+    @Value("${completions.export.timeout:1800000}")
+    private long exportTimeout;
+
+    @Value("${completions.export.max-concurrent:4}")
+    private int maxConcurrentExports;
+
+    private Semaphore exportPermits;
+
+    @PostConstruct
+    void init() {
+        exportPermits = new Semaphore(maxConcurrentExports);
+    }
+
+    /**
+     * Get the current user's completions.
+     *
+     * @param user the current user
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size the maximum number of completions
+     * @return a slice of completions, newest first
+     */
+    @GetMapping("/me")
+    @Operation(summary = "Get the current user's completions", description = "Returns a cursor-paginated slice of the current user's completions, newest first")
+    public ResponseEntity<CursorPage<TaskCompletionResponse>> getMyCompletions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(taskCompletionService.getCompletions(user.getId(), cursor, size));
+    }
+
+    /**
+     * Submit several completions for the current user at once, e.g. a queue recorded offline.
+     * Retrying with the same client keys is safe: already accepted completions are reported as duplicates.
+     *
+     * @param user the current user
+     * @param request the completions
+     * @return the outcome of each completion, in submission order
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Submit completions in a batch", description = "Submits up to 200 completions at once; each is created, reported as a duplicate of an earlier submission with the same client key, or rejected")
+    public ResponseEntity<CompletionBatchResponse> submitCompletions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            @Valid @RequestBody CompletionBatchRequest request) {
+        return ResponseEntity.ok(taskCompletionService.submitCompletions(user.getId(), request.getCompletions()));
+    }
+
+    /**
+     * Get the completions with a verification status, e.g. the queue of completions awaiting verification.
+     *
+     * @param status the verification status
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size the maximum number of completions
+     * @return a slice of completions, oldest first
+     */
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Get completions by verification status", description = "Returns a cursor-paginated slice of completions with a verification status, oldest first")
+    public ResponseEntity<CursorPage<TaskCompletionResponse>> getCompletionsByStatus(
+            @RequestParam(defaultValue = "PENDING") TaskCompletion.VerificationStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int size) {
+        return ResponseEntity.ok(taskCompletionService.getCompletionsByStatus(status, cursor, size));
+    }
+
+    /**
+     * Export the current user's completions as newline-delimited JSON, oldest first.
+     *
+     * @param user the current user
+     * @param response the response to stream to
+     * @param from the earliest completion date to include
+     * @param to the completion date to stop before
+     * @param gzip whether to send a gzip-compressed file
+     * @return the export task, streamed as it is read
+     */
+    @GetMapping("/me/export")
+    @Operation(summary = "Export the current user's completions", description = "Streams the current user's completions with their tasks and challenges as NDJSON, oldest first")
+    public WebAsyncTask<Void> exportMyCompletions(
+            @AuthenticationPrincipal AuthenticatedUser user,
+            HttpServletResponse response,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export(response, user.getId(), from, to, gzip, "completions-" + user.getId());
+    }
+
+    /**
+     * Export the completions of one or all users as newline-delimited JSON.
+     *
+     * @param response the response to stream to
+     * @param userId the user whose completions to export, or null for all users
+     * @param from the earliest completion date to include
+     * @param to the completion date to stop before
+     * @param gzip whether to send a gzip-compressed file
+     * @return the export task, streamed as it is read
+     */
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export completions", description = "Streams the completions of one or all users with their tasks and challenges as NDJSON")
+    public WebAsyncTask<Void> exportCompletions(
+            HttpServletResponse response,
+            @RequestParam(required = false) Long userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        return export(response, userId, from, to, gzip, userId != null ? "completions-" + userId : "completions");
+    }
+
+    /**
+     * Build a streaming export. The body is written on an MVC async thread with its own timeout, and opens its
+     * own read-only transaction for the duration of the stream. At most {@code completions.export.max-concurrent}
+     * exports run at a time on each node; further requests are answered with 429.
+     *
+     * @param response the response to stream to
+     * @param userId the user whose completions to export, or null for all users
+     * @param from the earliest completion date to include
+     * @param to the completion date to stop before
+     * @param gzip whether to gzip the body
+     * @param baseName the download file name without extension
+     * @return the export task
+     * @throws TooManyRequestsException if too many exports are running
+     */
+    private WebAsyncTask<Void> export(HttpServletResponse response, Long userId, LocalDateTime from, LocalDateTime to,
+                                      boolean gzip, String baseName) {
+        if (!exportPermits.tryAcquire()) {
+            throw new TooManyRequestsException("Too many exports in progress, please try again later",
+                    EXPORT_RETRY_AFTER_SECONDS);
+        }
+
+        String fileName = baseName + (gzip ? ".ndjson.gz" : ".ndjson");
+        response.setContentType((gzip ? GZIP : NDJSON).toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(fileName).build().toString());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noStore().getHeaderValue());
+
+        // Set by whichever of the export and the completion callback runs first, so the permit is released once
+        AtomicBoolean claimed = new AtomicBoolean();
+        WebAsyncTask<Void> task = new WebAsyncTask<>(exportTimeout, () -> {
+            if (!claimed.compareAndSet(false, true)) {
+                return null;
+            }
+            try {
+                OutputStream out = response.getOutputStream();
+                if (gzip) {
+                    GZIPOutputStream compressed = new GZIPOutputStream(out, GZIP_BUFFER_SIZE);
+                    taskCompletionService.exportCompletions(userId, from, to, compressed);
+                    compressed.finish();
+                } else {
+                    taskCompletionService.exportCompletions(userId, from, to, out);
+                }
+                out.flush();
+                return null;
+            } finally {
+                exportPermits.release();
+            }
+        });
+        // The export may never start, e.g. if the async executor rejects it
+        task.onCompletion(() -> {
+            if (claimed.compareAndSet(false, true)) {
+                exportPermits.release();
+            }
+        });
+        return task;
+    }
+}
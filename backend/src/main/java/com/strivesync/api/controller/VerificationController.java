@@ -0,0 +1,82 @@
+package com.strivesync.api.controller;
+
+import com.strivesync.api.dto.request.CompletionIdsRequest;
+import com.strivesync.api.dto.request.VerificationDecisionRequest;
+import com.strivesync.api.dto.response.VerificationClaimResponse;
+import com.strivesync.api.dto.response.VerificationDecisionResponse;
+import com.strivesync.security.AuthenticatedUser;
+import com.strivesync.service.VerificationQueueService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Controller for the completion verification work queue.
+ */
+@RestController
+@RequestMapping("/api/completions/verification")
+@RequiredArgsConstructor
+@Validated
+@PreAuthorize("hasRole('ADMIN')")
+@Tag(name = "Verification Queue", description = "Completion verification work queue endpoints")
+@SecurityRequirement(name = "Bearer Authentication")
+public class VerificationController {
+
+    private final VerificationQueueService verificationQueueService;
+
+    /**
+     * Claim a batch of pending completions for review.
+     *
+     * @param reviewer the current user
+     * @param limit the maximum number of completions to claim
+     * @return the claimed completions and when the claim lapses
+     */
+    @PostMapping("/claim")
+    @Operation(summary = "Claim pending completions", description = "Leases the oldest pending completions not claimed by another reviewer (admin only)")
+    public ResponseEntity<VerificationClaimResponse> claim(
+            @AuthenticationPrincipal AuthenticatedUser reviewer,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(100) int limit) {
+        return ResponseEntity.ok(verificationQueueService.claim(reviewer.getId(), limit));
+    }
+
+    /**
+     * Hand claimed completions back to the queue without deciding them.
+     *
+     * @param reviewer the current user
+     * @param request the completions to release
+     * @return 204 No Content
+     */
+    @PostMapping("/release")
+    @Operation(summary = "Release claimed completions", description = "Returns completions claimed by the current user to the queue (admin only)")
+    public ResponseEntity<Void> release(
+            @AuthenticationPrincipal AuthenticatedUser reviewer,
+            @Valid @RequestBody CompletionIdsRequest request) {
+        verificationQueueService.release(reviewer.getId(), request.getCompletionIds());
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Approve or reject claimed completions.
+     *
+     * @param reviewer the current user
+     * @param request the completions and the decision
+     * @return the completions decided and those skipped
+     */
+    @PostMapping("/decisions")
+    @Operation(summary = "Decide claimed completions", description = "Approves or rejects pending completions claimed by the current user in one statement (admin only)")
+    public ResponseEntity<VerificationDecisionResponse> decide(
+            @AuthenticationPrincipal AuthenticatedUser reviewer,
+            @Valid @RequestBody VerificationDecisionRequest request) {
+        return ResponseEntity.ok(verificationQueueService.decide(
+                reviewer.getId(), request.getCompletionIds(), request.getDecision(), request.getNotes()));
+    }
+}
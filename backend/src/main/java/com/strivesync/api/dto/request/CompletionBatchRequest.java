@@ -0,0 +1,25 @@
+package com.strivesync.api.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for submitting several task completions at once, e.g. a queue recorded offline.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompletionBatchRequest {
+
+    @NotEmpty(message = "At least one completion is required")
+    @Size(max = 200, message = "At most 200 completions can be submitted at once")
+    private List<@Valid CompletionSubmissionRequest> completions;
+}
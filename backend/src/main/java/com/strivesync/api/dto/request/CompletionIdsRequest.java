@@ -0,0 +1,25 @@
+package com.strivesync.api.dto.request;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for a set of task completions, e.g. claimed completions to hand back to the queue.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompletionIdsRequest {
+
+    @NotEmpty(message = "At least one completion ID is required")
+    @Size(max = 500, message = "At most 500 completions can be given at once")
+    private List<@NotNull Long> completionIds;
+}
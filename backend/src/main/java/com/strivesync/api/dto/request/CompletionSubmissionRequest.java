@@ -0,0 +1,37 @@
+package com.strivesync.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one task completion in a batch submission.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompletionSubmissionRequest {
+
+    /**
+     * Key chosen by the client, unique per user; resubmitting it returns the completion created the first time.
+     */
+    @NotBlank(message = "Client key is required")
+    @Size(max = 64, message = "Client key must be at most 64 characters")
+    private String clientKey;
+
+    @NotNull(message = "Task ID is required")
+    private Long taskId;
+
+    @NotNull(message = "Completion date is required")
+    private LocalDateTime completionDate;
+
+    @Size(max = 500, message = "Notes must be at most 500 characters")
+    private String notes;
+}
@@ -0,0 +1,49 @@
+package com.strivesync.api.dto.request;
+
+import com.strivesync.domain.TaskCompletion;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for approving or rejecting several claimed completions at once.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VerificationDecisionRequest {
+
+    @NotEmpty(message = "At least one completion ID is required")
+    @Size(max = 500, message = "At most 500 completions can be decided at once")
+    private List<@NotNull Long> completionIds;
+
+    @NotNull(message = "Decision is required")
+    private Decision decision;
+
+    @Size(max = 500, message = "Notes must be at most 500 characters")
+    private String notes;
+
+    /**
+     * Enum representing the outcome of a verification.
+     */
+    public enum Decision {
+        APPROVED,
+        REJECTED;
+
+        /**
+         * Get the verification status a completion gets with this decision.
+         *
+         * @return the verification status
+         */
+        public TaskCompletion.VerificationStatus toStatus() {
+            return TaskCompletion.VerificationStatus.valueOf(name());
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a task due on a user's agenda.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgendaItemResponse {
+
+    private Long challengeId;
+    private String challengeTitle;
+    private Long taskId;
+    private String title;
+    private Integer points;
+    private boolean recurring;
+    private String recurrencePattern;
+
+    /**
+     * Whether the user has already completed the task: on the agenda date for recurring tasks, at any time
+     * for one-off tasks.
+     */
+    private boolean completed;
+}
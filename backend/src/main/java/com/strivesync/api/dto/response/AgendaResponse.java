@@ -0,0 +1,25 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the tasks due for a user on a date, across all of their challenges.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AgendaResponse {
+
+    private LocalDate date;
+
+    @Builder.Default
+    private List<AgendaItemResponse> items = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for username and email availability response.
+ * Only the fields that were asked about are set.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AvailabilityResponse {
+
+    private Boolean usernameAvailable;
+    private Boolean emailAvailable;
+}
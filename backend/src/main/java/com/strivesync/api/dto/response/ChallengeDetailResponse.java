@@ -0,0 +1,50 @@
+package com.strivesync.api.dto.response;
+
+import com.strivesync.domain.Challenge;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a single challenge with its tasks.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChallengeDetailResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Challenge.ChallengeStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Boolean isPrivate;
+    private Long createdById;
+    private String createdByUsername;
+    private String createdByFullName;
+    private Long participantCount;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    @Builder.Default
+    private List<ChallengeTaskResponse> tasks = new ArrayList<>();
+
+    /**
+     * Constructor used by the JPQL constructor expression; tasks are loaded by a separate query.
+     */
+    public ChallengeDetailResponse(Long id, String title, String description, Challenge.ChallengeStatus status,
+                                   LocalDate startDate, LocalDate endDate, Boolean isPrivate, Long createdById,
+                                   String createdByUsername, String createdByFullName, Long participantCount,
+                                   LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, title, description, status, startDate, endDate, isPrivate, createdById, createdByUsername,
+                createdByFullName, participantCount, createdAt, updatedAt, new ArrayList<>());
+    }
+}
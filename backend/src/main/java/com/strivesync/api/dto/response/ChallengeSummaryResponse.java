@@ -0,0 +1,33 @@
+package com.strivesync.api.dto.response;
+
+import com.strivesync.domain.Challenge;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * DTO for challenge list entries.
+ * Filled directly by JPQL constructor expressions, so the field order must match the repository queries.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChallengeSummaryResponse {
+
+    private Long id;
+    private String title;
+    private Challenge.ChallengeStatus status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+    private Boolean isPrivate;
+    private Long createdById;
+    private String createdByUsername;
+    private Long participantCount;
+    private Long taskCount;
+    private LocalDateTime createdAt;
+}
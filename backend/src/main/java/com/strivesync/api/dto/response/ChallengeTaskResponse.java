@@ -0,0 +1,27 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a task within a challenge.
+ * Filled directly by JPQL constructor expressions, so the field order must match the repository queries.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ChallengeTaskResponse {
+
+    private Long id;
+    private String title;
+    private String description;
+    private Integer points;
+    private Boolean recurring;
+    private String recurrencePattern;
+    private LocalDateTime updatedAt;
+}
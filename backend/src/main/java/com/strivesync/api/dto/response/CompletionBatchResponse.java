@@ -0,0 +1,29 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the outcome of a batch completion submission.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompletionBatchResponse {
+
+    private int created;
+    private int duplicates;
+    private int rejected;
+
+    /**
+     * One result per submitted completion, in submission order.
+     */
+    @Builder.Default
+    private List<CompletionSubmissionResult> results = new ArrayList<>();
+}
@@ -0,0 +1,33 @@
+package com.strivesync.api.dto.response;
+
+import com.strivesync.domain.TaskCompletion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for one line of a completion export: a completion with the task and challenge it belongs to.
+ * Filled directly by JPQL constructor expressions, so the field order must match the repository queries.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompletionExportRow {
+
+    private Long id;
+    private Long userId;
+    private Long challengeId;
+    private String challengeTitle;
+    private Long taskId;
+    private String taskTitle;
+    private Integer points;
+    private LocalDateTime completionDate;
+    private String notes;
+    private TaskCompletion.VerificationStatus verificationStatus;
+    private LocalDateTime verificationDate;
+    private String verificationNotes;
+}
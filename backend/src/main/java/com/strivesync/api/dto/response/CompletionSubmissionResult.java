@@ -0,0 +1,38 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for the outcome of one completion in a batch submission.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompletionSubmissionResult {
+
+    private String clientKey;
+    private Status status;
+
+    /**
+     * The ID of the created completion, or of the one created by an earlier submission of the same key.
+     */
+    private Long completionId;
+
+    /**
+     * Why the completion was rejected.
+     */
+    private String error;
+
+    /**
+     * Enum representing the outcome of a submitted completion.
+     */
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        REJECTED
+    }
+}
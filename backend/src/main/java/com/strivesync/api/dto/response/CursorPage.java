@@ -0,0 +1,46 @@
+package com.strivesync.api.dto.response;
+
+import com.strivesync.util.Cursor;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * DTO for a slice of a keyset-paginated listing.
+ * {@code nextCursor} is passed back to fetch the following slice; {@code totalEstimate} is an approximate,
+ * periodically refreshed total and may lag behind recent writes.
+ *
+ * @param <T> the type of the items
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private String nextCursor;
+    private boolean hasNext;
+    private Long totalEstimate;
+
+    /**
+     * Build a slice from rows fetched with a limit of {@code size + 1}; the extra row only signals that more follow.
+     *
+     * @param rows the fetched rows
+     * @param size the requested slice size
+     * @param cursorOf extracts the cursor position of a row
+     * @param totalEstimate the approximate total, or null if not available
+     * @param <T> the type of the items
+     * @return the slice
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int size, Function<T, Cursor> cursorOf, Long totalEstimate) {
+        boolean hasNext = rows.size() > size;
+        List<T> content = hasNext ? List.copyOf(rows.subList(0, size)) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+        return new CursorPage<>(content, nextCursor, hasNext, totalEstimate);
+    }
+}
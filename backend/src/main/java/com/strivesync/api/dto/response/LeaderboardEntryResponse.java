@@ -0,0 +1,24 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * DTO for a user's position on a challenge leaderboard.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardEntryResponse {
+
+    /**
+     * The 1-based position; users with equal scores get consecutive positions.
+     */
+    private long rank;
+    private Long userId;
+    private String username;
+    private long score;
+}
@@ -0,0 +1,34 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a window of a challenge leaderboard.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LeaderboardResponse {
+
+    private Long challengeId;
+
+    /**
+     * The number of users with a score in the challenge.
+     */
+    private long rankedUsers;
+
+    @Builder.Default
+    private List<LeaderboardEntryResponse> entries = new ArrayList<>();
+
+    /**
+     * The current user's position, or null if they have no score yet.
+     */
+    private LeaderboardEntryResponse me;
+}
@@ -0,0 +1,38 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * DTO for a user's streaks and consistency in a challenge or on a task.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class StreakResponse {
+
+    /**
+     * The number of due days done since the last missed one; today only counts once done.
+     */
+    private int currentStreak;
+    private int longestStreak;
+    private LocalDate lastCompletedOn;
+
+    /**
+     * The window the completion rate covers, inclusive.
+     */
+    private LocalDate from;
+    private LocalDate to;
+    private long dueDays;
+    private long completedDays;
+
+    /**
+     * The share of due days in the window that were done, between 0 and 1.
+     */
+    private double completionRate;
+}
@@ -0,0 +1,21 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * DTO for typeahead suggestions, grouped by kind.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SuggestionsResponse {
+
+    private List<SuggestionResponse> challenges;
+    private List<SuggestionResponse> users;
+}
@@ -0,0 +1,31 @@
+package com.strivesync.api.dto.response;
+
+import com.strivesync.domain.TaskCompletion;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * DTO for a task completion.
+ * Filled directly by JPQL constructor expressions, so the field order must match the repository queries.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TaskCompletionResponse {
+
+    private Long id;
+    private Long taskId;
+    private String taskTitle;
+    private Long challengeId;
+    private Long userId;
+    private String username;
+    private LocalDateTime completionDate;
+    private String notes;
+    private TaskCompletion.VerificationStatus verificationStatus;
+    private LocalDateTime verificationDate;
+}
@@ -0,0 +1,44 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the result of a bulk user import.
+ * If the import stops early, it can be resumed by passing {@code lastCommittedRow} as {@code resumeAfter}.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class UserImportReport {
+
+    private long rowsRead;
+    private long imported;
+    private long failed;
+    private long lastCommittedRow;
+    private boolean completed;
+    private String abortReason;
+    private boolean errorsTruncated;
+
+    @Builder.Default
+    private List<RowError> errors = new ArrayList<>();
+
+    /**
+     * Error details for a single input row.
+     */
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class RowError {
+
+        private long row;
+        private String username;
+        private String message;
+    }
+}
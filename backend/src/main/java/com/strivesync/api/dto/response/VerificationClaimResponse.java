@@ -0,0 +1,28 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for a batch of pending completions claimed by a reviewer.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VerificationClaimResponse {
+
+    /**
+     * When the claim lapses; unreviewed completions are then handed to the next reviewer who claims work.
+     */
+    private LocalDateTime leaseExpiresAt;
+
+    @Builder.Default
+    private List<TaskCompletionResponse> completions = new ArrayList<>();
+}
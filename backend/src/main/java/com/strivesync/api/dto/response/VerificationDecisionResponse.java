@@ -0,0 +1,31 @@
+package com.strivesync.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * DTO for the outcome of a bulk verification decision.
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class VerificationDecisionResponse {
+
+    /**
+     * The completions that were decided.
+     */
+    @Builder.Default
+    private List<Long> decided = new ArrayList<>();
+
+    /**
+     * The completions that were left unchanged: already decided, or claimed by another reviewer.
+     */
+    @Builder.Default
+    private List<Long> skipped = new ArrayList<>();
+}
@@ -1,9 +1,13 @@
 package com.strivesync.api.exception;
 
+import com.strivesync.security.InvalidTokenException;
+import com.strivesync.security.TooManyRequestsException;
+import com.strivesync.util.InvalidCursorException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -107,6 +111,33 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
 
+    /**
+     * Handle DataIntegrityViolationException. Triggered when a write violates a unique or foreign key constraint,
+     * e.g. registering a username or email that is already taken.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with the error details
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    protected ResponseEntity<Object> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        ApiError apiError = new ApiError(HttpStatus.CONFLICT);
+        apiError.setMessage("The request conflicts with existing data");
+        return buildResponseEntity(apiError);
+    }
+
+    /**
+     * Handle InvalidCursorException. Triggered when a pagination cursor is malformed or tampered with.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with the error details
+     */
+    @ExceptionHandler(InvalidCursorException.class)
+    protected ResponseEntity<Object> handleInvalidCursor(InvalidCursorException ex) {
+        ApiError apiError = new ApiError(HttpStatus.BAD_REQUEST);
+        apiError.setMessage(ex.getMessage());
+        return buildResponseEntity(apiError);
+    }
+
     /**
      * Handle UsernameNotFoundException. Triggered when a user is not found.
      *
@@ -133,6 +164,34 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
         return buildResponseEntity(apiError);
     }
 
+    /**
+     * Handle InvalidTokenException. Triggered when a refresh token is invalid, revoked or reused.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with the error details
+     */
+    @ExceptionHandler(InvalidTokenException.class)
+    protected ResponseEntity<Object> handleInvalidToken(InvalidTokenException ex) {
+        ApiError apiError = new ApiError(HttpStatus.UNAUTHORIZED);
+        apiError.setMessage(ex.getMessage());
+        return buildResponseEntity(apiError);
+    }
+
+    /**
+     * Handle TooManyRequestsException. Triggered when a request is rejected to protect the service.
+     *
+     * @param ex the exception
+     * @return a ResponseEntity with the error details
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    protected ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException ex) {
+        ApiError apiError = new ApiError(HttpStatus.TOO_MANY_REQUESTS);
+        apiError.setMessage(ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(apiError);
+    }
+
     /**
      * Handle AccessDeniedException. Triggered when a user doesn't have permission.
      *
@@ -0,0 +1,36 @@
+package com.strivesync.config;
+
+import com.strivesync.service.event.EntityChangeEventPublisher;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration registering Hibernate event listeners.
+ */
+@Configuration
+@RequiredArgsConstructor
+public class HibernateEventConfig {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final EntityChangeEventPublisher entityChangeEventPublisher;
+
+    /**
+     * Register the listener that publishes committed entity and participation changes as application events.
+     */
+    @PostConstruct
+    void registerListeners() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry()
+                .getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, entityChangeEventPublisher);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, entityChangeEventPublisher);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, entityChangeEventPublisher);
+        registry.appendListeners(EventType.PRE_COLLECTION_UPDATE, entityChangeEventPublisher);
+        registry.appendListeners(EventType.PRE_COLLECTION_REMOVE, entityChangeEventPublisher);
+    }
+}
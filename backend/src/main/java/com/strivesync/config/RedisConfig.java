@@ -0,0 +1,26 @@
+package com.strivesync.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * Configuration for Redis pub/sub used to broadcast cache invalidations between nodes.
+ */
+@Configuration
+public class RedisConfig {
+
+    /**
+     * Create the container that dispatches Redis pub/sub messages to listeners.
+     *
+     * @param connectionFactory the Redis connection factory
+     * @return the listener container
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+}
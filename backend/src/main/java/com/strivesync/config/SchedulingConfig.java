@@ -0,0 +1,12 @@
+package com.strivesync.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Configuration enabling scheduled background tasks such as cache and limiter synchronization.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,31 @@
+package com.strivesync.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Configuration for Spring MVC message conversion.
+ * <p>
+ * Clients may ask for CBOR with {@code Accept: application/cbor} and send it with the matching Content-Type.
+ * The CBOR mapper is built from the same Jackson configuration as the JSON one, so both encodings share
+ * one schema: the same DTOs, field names, inclusion rules and date formats. JSON stays the default.
+ */
+@Configuration
+public class WebConfig {
+
+    /**
+     * Create the CBOR converter. Spring MVC registers a CBOR converter of its own whenever the CBOR data format
+     * is on the classpath, built without the {@code spring.jackson.*} settings; declaring a converter of the same
+     * type as a bean makes Spring Boot use this one in its place, after the JSON converter.
+     *
+     * @param objectMapperBuilder the application's Jackson configuration
+     * @return the CBOR converter
+     */
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
+    }
+}
@@ -1,5 +1,6 @@
 package com.strivesync.domain;
 
+import com.strivesync.util.ValidRecurrencePattern;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -31,6 +32,7 @@ public class ChallengeTask extends BaseEntity {
     private boolean isRecurring = false;
 
     @Column(name = "recurrence_pattern")
+    @ValidRecurrencePattern
     private String recurrencePattern;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -41,6 +41,9 @@ public class TaskCompletion extends BaseEntity {
     @Column(name = "verification_notes", length = 500)
     private String verificationNotes;
 
+    @Column(name = "client_key", length = 64)
+    private String clientKey;
+
     /**
      * Enum representing the verification status of a task completion.
      */
@@ -1,15 +1,31 @@
 package com.strivesync.repository;
 
+import com.strivesync.api.dto.response.ChallengeDetailResponse;
+import com.strivesync.api.dto.response.ChallengeSummaryResponse;
 import com.strivesync.domain.Challenge;
 import com.strivesync.domain.User;
+import com.strivesync.repository.projection.ChallengeScheduleView;
+import com.strivesync.repository.projection.ChallengeStampView;
+import com.strivesync.repository.projection.ChallengeTitleView;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for Challenge entity.
@@ -17,6 +33,21 @@ import java.util.List;
 @Repository
 public interface ChallengeRepository extends JpaRepository<Challenge, Long> {
 
+    // JPQL fragments shared by the projection queries; counts are correlated subqueries so a page costs one query
+
+    String PARTICIPANT_COUNT = "(SELECT COUNT(p) FROM User p JOIN p.participatingChallenges pc WHERE pc = c)";
+
+    String SUMMARY_COLUMNS = "c.id, c.title, c.status, c.startDate, c.endDate, c.isPrivate, cb.id, cb.username, "
+            + PARTICIPANT_COUNT + ", (SELECT COUNT(t) FROM ChallengeTask t WHERE t.challenge = c), c.createdAt";
+
+    String SUMMARY_FROM = "FROM Challenge c LEFT JOIN c.createdBy cb";
+
+    String PARTICIPATING_FROM = "FROM User u JOIN u.participatingChallenges c LEFT JOIN c.createdBy cb WHERE u.id = :userId";
+
+    String AFTER_CURSOR = "(c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id))";
+
+    String NEWEST_FIRST = " ORDER BY c.createdAt DESC, c.id DESC";
+
     /**
      * Find challenges created by a specific user.
      *
@@ -71,4 +102,207 @@ public interface ChallengeRepository extends JpaRepository<Challenge, Long> {
      */
     @Query("SELECT c FROM Challenge c WHERE LOWER(c.title) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR LOWER(c.description) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
     Page<Challenge> searchByTitleOrDescription(String searchTerm, Pageable pageable);
-} 
\ No newline at end of file
+
+    /**
+     * Find a page of challenge summaries.
+     *
+     * @param pageable pagination information
+     * @return a page of challenge summaries
+     */
+    @Query(value = "SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM,
+            countQuery = "SELECT COUNT(c) FROM Challenge c")
+    Page<ChallengeSummaryResponse> findSummaries(Pageable pageable);
+
+    /**
+     * Find the IDs of challenges matching a full-text query, best matches first.
+     * Title matches rank above description matches through the weights of the search vector.
+     *
+     * @param tsQuery the query in to_tsquery syntax
+     * @param limit the maximum number of IDs
+     * @param offset the number of matches to skip
+     * @return the IDs of the matching challenges in rank order
+     */
+    @Query(value = "SELECT c.id FROM challenges c, to_tsquery('english', :tsQuery) q "
+            + "WHERE c.search_vector @@ q ORDER BY ts_rank_cd(c.search_vector, q) DESC, c.id DESC "
+            + "LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<Long> searchRankedIds(String tsQuery, int limit, long offset);
+
+    /**
+     * Find the summaries of challenges by ID.
+     *
+     * @param ids the challenge IDs
+     * @return the challenge summaries, in no particular order
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM
+            + " WHERE c.id IN :ids")
+    List<ChallengeSummaryResponse> findSummariesByIds(Collection<Long> ids);
+
+    /**
+     * Find summaries of the challenges created by a user.
+     *
+     * @param userId the ID of the user who created the challenges
+     * @param pageable pagination information
+     * @return a page of challenge summaries
+     */
+    @Query(value = "SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM
+            + " WHERE cb.id = :userId",
+            countQuery = "SELECT COUNT(c) FROM Challenge c WHERE c.createdBy.id = :userId")
+    Page<ChallengeSummaryResponse> findSummariesByCreator(Long userId, Pageable pageable);
+
+    /**
+     * Find the IDs of the challenges created by a user.
+     *
+     * @param userId the ID of the user who created the challenges
+     * @return the challenge IDs
+     */
+    @Query("SELECT c.id FROM Challenge c WHERE c.createdBy.id = :userId")
+    List<Long> findIdsByCreatorId(Long userId);
+
+    /**
+     * Find summaries of the challenges a user is participating in, driven from the user_challenges join table.
+     * The order is fixed by the query, so the pageable must be unsorted.
+     *
+     * @param userId the ID of the participating user
+     * @param pageable pagination information
+     * @return a slice of challenge summaries, newest first
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") "
+            + PARTICIPATING_FROM + NEWEST_FIRST)
+    Slice<ChallengeSummaryResponse> findSummariesByParticipant(Long userId, Pageable pageable);
+
+    /**
+     * Find summaries of the challenges with a status a user is participating in.
+     * The order is fixed by the query, so the pageable must be unsorted.
+     *
+     * @param userId the ID of the participating user
+     * @param status the challenge status
+     * @param pageable pagination information
+     * @return a slice of challenge summaries, newest first
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") "
+            + PARTICIPATING_FROM + " AND c.status = :status" + NEWEST_FIRST)
+    Slice<ChallengeSummaryResponse> findSummariesByParticipantAndStatus(Long userId, Challenge.ChallengeStatus status, Pageable pageable);
+
+    /**
+     * Find the details of a challenge, without its tasks.
+     *
+     * @param id the challenge ID
+     * @return an Optional containing the challenge details if found, or empty if not found
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeDetailResponse("
+            + "c.id, c.title, c.description, c.status, c.startDate, c.endDate, c.isPrivate, "
+            + "cb.id, cb.username, cb.fullName, " + PARTICIPANT_COUNT + ", c.createdAt, c.updatedAt) "
+            + "FROM Challenge c LEFT JOIN c.createdBy cb WHERE c.id = :id")
+    Optional<ChallengeDetailResponse> findDetailById(Long id);
+
+    /**
+     * Find the version stamp of a challenge and its tasks, used to answer conditional requests
+     * without loading the challenge.
+     *
+     * @param id the challenge ID
+     * @return an Optional containing the stamp if the challenge exists, or empty if not found
+     */
+    @Query("SELECT c.updatedAt AS updatedAt, "
+            + "(SELECT MAX(t.updatedAt) FROM ChallengeTask t WHERE t.challenge = c) AS tasksUpdatedAt, "
+            + "(SELECT COUNT(t) FROM ChallengeTask t WHERE t.challenge = c) AS taskCount, "
+            + PARTICIPANT_COUNT + " AS participantCount FROM Challenge c WHERE c.id = :id")
+    Optional<ChallengeStampView> findStampById(Long id);
+
+    /**
+     * Find the newest challenge summaries, the first slice of the keyset-paginated feed.
+     *
+     * @param limit the maximum number of rows
+     * @return the challenge summaries, newest first
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM
+            + NEWEST_FIRST)
+    List<ChallengeSummaryResponse> findFeed(Limit limit);
+
+    /**
+     * Find the challenge summaries following a cursor position in the feed.
+     *
+     * @param createdAt the creation time of the last row returned
+     * @param id the ID of the last row returned
+     * @param limit the maximum number of rows
+     * @return the challenge summaries, newest first
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM
+            + " WHERE " + AFTER_CURSOR + NEWEST_FIRST)
+    List<ChallengeSummaryResponse> findFeedAfter(LocalDateTime createdAt, Long id, Limit limit);
+
+    /**
+     * Find the newest challenge summaries with a status, the first slice of the keyset-paginated feed.
+     *
+     * @param status the challenge status
+     * @param limit the maximum number of rows
+     * @return the challenge summaries, newest first
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM
+            + " WHERE c.status = :status" + NEWEST_FIRST)
+    List<ChallengeSummaryResponse> findFeedByStatus(Challenge.ChallengeStatus status, Limit limit);
+
+    /**
+     * Find the challenge summaries with a status following a cursor position in the feed.
+     *
+     * @param status the challenge status
+     * @param createdAt the creation time of the last row returned
+     * @param id the ID of the last row returned
+     * @param limit the maximum number of rows
+     * @return the challenge summaries, newest first
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM
+            + " WHERE c.status = :status AND " + AFTER_CURSOR + NEWEST_FIRST)
+    List<ChallengeSummaryResponse> findFeedByStatusAfter(Challenge.ChallengeStatus status, LocalDateTime createdAt, Long id, Limit limit);
+
+    /**
+     * Count challenges with a status.
+     *
+     * @param status the challenge status
+     * @return the number of challenges
+     */
+    long countByStatus(Challenge.ChallengeStatus status);
+
+    /**
+     * Stream the titles and participant counts of all public challenges. Must be consumed inside a transaction.
+     *
+     * @return a stream of challenge titles
+     */
+    @Query("SELECT c.id AS id, c.title AS title, " + PARTICIPANT_COUNT + " AS participantCount "
+            + "FROM Challenge c WHERE c.isPrivate = false")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<ChallengeTitleView> streamPublicTitles();
+
+    /**
+     * Find summaries of public challenges with one of the given statuses, in start date order.
+     * The order is fixed by the query, so the pageable must be unsorted.
+     *
+     * @param statuses the statuses to include
+     * @param pageable pagination information
+     * @return a page of challenge summaries
+     */
+    @Query(value = "SELECT new com.strivesync.api.dto.response.ChallengeSummaryResponse(" + SUMMARY_COLUMNS + ") " + SUMMARY_FROM
+            + " WHERE c.status IN :statuses AND c.isPrivate = false ORDER BY c.startDate, c.id",
+            countQuery = "SELECT COUNT(c) FROM Challenge c WHERE c.status IN :statuses AND c.isPrivate = false")
+    Page<ChallengeSummaryResponse> findPublicSummaries(Collection<Challenge.ChallengeStatus> statuses, Pageable pageable);
+
+    /**
+     * Find the challenges a user is participating in that run on a date. Open-ended dates count as running.
+     *
+     * @param userId the ID of the participating user
+     * @param date the date
+     * @return the challenge schedules, ordered by ID
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.startDate AS startDate, c.endDate AS endDate "
+            + "FROM User u JOIN u.participatingChallenges c WHERE u.id = :userId "
+            + "AND (c.startDate IS NULL OR c.startDate <= :date) AND (c.endDate IS NULL OR c.endDate >= :date) ORDER BY c.id")
+    List<ChallengeScheduleView> findSchedulesByParticipantOn(Long userId, LocalDate date);
+
+    /**
+     * Find the date range of a challenge.
+     *
+     * @param id the challenge ID
+     * @return an Optional containing the challenge schedule if found, or empty if not found
+     */
+    @Query("SELECT c.id AS id, c.title AS title, c.startDate AS startDate, c.endDate AS endDate FROM Challenge c WHERE c.id = :id")
+    Optional<ChallengeScheduleView> findScheduleById(Long id);
+}
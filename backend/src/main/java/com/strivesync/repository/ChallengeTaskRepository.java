@@ -1,11 +1,16 @@
 package com.strivesync.repository;
 
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
 import com.strivesync.domain.Challenge;
 import com.strivesync.domain.ChallengeTask;
+import com.strivesync.repository.projection.TaskPointsView;
+import com.strivesync.repository.projection.TaskScheduleView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Repository interface for ChallengeTask entity.
@@ -37,4 +42,45 @@ public interface ChallengeTaskRepository extends JpaRepository<ChallengeTask, Lo
      * @return a list of tasks ordered by points
      */
     List<ChallengeTask> findByChallengeOrderByPointsDesc(Challenge challenge);
-} 
\ No newline at end of file
+
+    /**
+     * Find the tasks of a challenge as response DTOs.
+     *
+     * @param challengeId the challenge ID
+     * @return a list of tasks ordered by ID
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeTaskResponse("
+            + "t.id, t.title, t.description, t.points, t.isRecurring, t.recurrencePattern, t.updatedAt) "
+            + "FROM ChallengeTask t WHERE t.challenge.id = :challengeId ORDER BY t.id")
+    List<ChallengeTaskResponse> findResponsesByChallengeId(Long challengeId);
+
+    /**
+     * Find the tasks of a challenge as response DTOs, highest points first.
+     *
+     * @param challengeId the challenge ID
+     * @return a list of tasks ordered by points
+     */
+    @Query("SELECT new com.strivesync.api.dto.response.ChallengeTaskResponse("
+            + "t.id, t.title, t.description, t.points, t.isRecurring, t.recurrencePattern, t.updatedAt) "
+            + "FROM ChallengeTask t WHERE t.challenge.id = :challengeId ORDER BY t.points DESC, t.id")
+    List<ChallengeTaskResponse> findResponsesByChallengeIdOrderByPointsDesc(Long challengeId);
+
+    /**
+     * Find the challenge and points of a task.
+     *
+     * @param id the task ID
+     * @return an Optional containing the challenge ID and points if the task exists, or empty if not found
+     */
+    @Query("SELECT t.challenge.id AS challengeId, t.points AS points FROM ChallengeTask t WHERE t.id = :id")
+    Optional<TaskPointsView> findPointsById(Long id);
+
+    /**
+     * Find the recurrence of a task with the date range of its challenge.
+     *
+     * @param id the task ID
+     * @return an Optional containing the task schedule if the task exists, or empty if not found
+     */
+    @Query("SELECT c.id AS challengeId, t.isRecurring AS recurring, t.recurrencePattern AS recurrencePattern, "
+            + "c.startDate AS startDate, c.endDate AS endDate FROM ChallengeTask t JOIN t.challenge c WHERE t.id = :id")
+    Optional<TaskScheduleView> findScheduleById(Long id);
+}
@@ -1,16 +1,27 @@
 package com.strivesync.repository;
 
+import com.strivesync.api.dto.response.CompletionExportRow;
+import com.strivesync.api.dto.response.TaskCompletionResponse;
 import com.strivesync.domain.ChallengeTask;
 import com.strivesync.domain.TaskCompletion;
 import com.strivesync.domain.User;
+import com.strivesync.repository.projection.UserScoreView;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for TaskCompletion entity.
@@ -18,6 +29,32 @@ import java.util.List;
 @Repository
 public interface TaskCompletionRepository extends JpaRepository<TaskCompletion, Long> {
 
+    // JPQL fragments shared by the keyset-paginated projection queries
+
+    String RESPONSE_QUERY = "SELECT new com.strivesync.api.dto.response.TaskCompletionResponse("
+            + "tc.id, t.id, t.title, t.challenge.id, u.id, u.username, tc.completionDate, tc.notes, "
+            + "tc.verificationStatus, tc.verificationDate) "
+            + "FROM TaskCompletion tc JOIN tc.task t JOIN tc.user u";
+
+    String BEFORE_CURSOR = "(tc.completionDate < :completionDate OR (tc.completionDate = :completionDate AND tc.id < :id))";
+
+    String AFTER_CURSOR = "(tc.completionDate > :completionDate OR (tc.completionDate = :completionDate AND tc.id > :id))";
+
+    String NEWEST_FIRST = " ORDER BY tc.completionDate DESC, tc.id DESC";
+
+    String OLDEST_FIRST = " ORDER BY tc.completionDate ASC, tc.id ASC";
+
+    String EXPORT_QUERY = "SELECT new com.strivesync.api.dto.response.CompletionExportRow("
+            + "tc.id, tc.user.id, c.id, c.title, t.id, t.title, t.points, tc.completionDate, tc.notes, "
+            + "tc.verificationStatus, tc.verificationDate, tc.verificationNotes) "
+            + "FROM TaskCompletion tc JOIN tc.task t JOIN t.challenge c";
+
+    String APPROVED_SCORES = "SELECT tc.user.id AS userId, SUM(t.points) AS score "
+            + "FROM TaskCompletion tc JOIN tc.task t "
+            + "WHERE t.challenge.id = :challengeId AND tc.verificationStatus = 'APPROVED'";
+
+    String IN_RANGE = "(:from IS NULL OR tc.completionDate >= :from) AND (:to IS NULL OR tc.completionDate < :to)";
+
     /**
      * Find task completions for a specific user.
      *
@@ -84,4 +121,142 @@ public interface TaskCompletionRepository extends JpaRepository<TaskCompletion,
     @Query("SELECT SUM(t.points) FROM TaskCompletion tc JOIN tc.task t JOIN t.challenge c " +
            "WHERE tc.user.id = :userId AND c.id = :challengeId AND tc.verificationStatus = 'APPROVED'")
     Integer getTotalPointsForUserInChallenge(Long userId, Long challengeId);
-} 
\ No newline at end of file
+
+    /**
+     * Find a user's most recent completions, the first slice of the keyset-paginated listing.
+     *
+     * @param userId the ID of the user
+     * @param limit the maximum number of rows
+     * @return the completions, newest first
+     */
+    @Query(RESPONSE_QUERY + " WHERE u.id = :userId" + NEWEST_FIRST)
+    List<TaskCompletionResponse> findResponsesByUser(Long userId, Limit limit);
+
+    /**
+     * Find a user's completions following a cursor position.
+     *
+     * @param userId the ID of the user
+     * @param completionDate the completion date of the last row returned
+     * @param id the ID of the last row returned
+     * @param limit the maximum number of rows
+     * @return the completions, newest first
+     */
+    @Query(RESPONSE_QUERY + " WHERE u.id = :userId AND " + BEFORE_CURSOR + NEWEST_FIRST)
+    List<TaskCompletionResponse> findResponsesByUserAfter(Long userId, LocalDateTime completionDate, Long id, Limit limit);
+
+    /**
+     * Find the oldest completions with a verification status, the first slice of the keyset-paginated queue.
+     *
+     * @param verificationStatus the verification status
+     * @param limit the maximum number of rows
+     * @return the completions, oldest first
+     */
+    @Query(RESPONSE_QUERY + " WHERE tc.verificationStatus = :verificationStatus" + OLDEST_FIRST)
+    List<TaskCompletionResponse> findResponsesByVerificationStatus(TaskCompletion.VerificationStatus verificationStatus, Limit limit);
+
+    /**
+     * Find the completions with a verification status following a cursor position.
+     *
+     * @param verificationStatus the verification status
+     * @param completionDate the completion date of the last row returned
+     * @param id the ID of the last row returned
+     * @param limit the maximum number of rows
+     * @return the completions, oldest first
+     */
+    @Query(RESPONSE_QUERY + " WHERE tc.verificationStatus = :verificationStatus AND " + AFTER_CURSOR + OLDEST_FIRST)
+    List<TaskCompletionResponse> findResponsesByVerificationStatusAfter(TaskCompletion.VerificationStatus verificationStatus,
+                                                                        LocalDateTime completionDate, Long id, Limit limit);
+
+    /**
+     * Find completions by their IDs.
+     *
+     * @param ids the IDs of the completions
+     * @return the completions, oldest first
+     */
+    @Query(RESPONSE_QUERY + " WHERE tc.id IN :ids" + OLDEST_FIRST)
+    List<TaskCompletionResponse> findResponsesByIds(Collection<Long> ids);
+
+    /**
+     * Count the completions of a user.
+     *
+     * @param userId the ID of the user
+     * @return the number of completions
+     */
+    long countByUserId(Long userId);
+
+    /**
+     * Count the completions with a verification status.
+     *
+     * @param verificationStatus the verification status
+     * @return the number of completions
+     */
+    long countByVerificationStatus(TaskCompletion.VerificationStatus verificationStatus);
+
+    /**
+     * Stream a user's completions for export, oldest first. Must be consumed inside a transaction;
+     * rows are read through a server-side cursor, so memory use doesn't depend on the size of the history.
+     *
+     * @param userId the ID of the user
+     * @param from the earliest completion date to include, or null for no lower bound
+     * @param to the completion date to stop before, or null for no upper bound
+     * @return a stream of export rows
+     */
+    @Query(EXPORT_QUERY + " WHERE tc.user.id = :userId AND " + IN_RANGE + OLDEST_FIRST)
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<CompletionExportRow> streamExportByUser(Long userId, LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Stream the completions of all users for export, in ID order. Must be consumed inside a transaction.
+     *
+     * @param from the earliest completion date to include, or null for no lower bound
+     * @param to the completion date to stop before, or null for no upper bound
+     * @return a stream of export rows
+     */
+    @Query(EXPORT_QUERY + " WHERE " + IN_RANGE + " ORDER BY tc.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<CompletionExportRow> streamExport(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Stream the total approved points of every user with approved completions in a challenge.
+     * Must be consumed inside a transaction.
+     *
+     * @param challengeId the ID of the challenge
+     * @return a stream of user scores
+     */
+    @Query(APPROVED_SCORES + " GROUP BY tc.user.id")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<UserScoreView> streamApprovedScores(Long challengeId);
+
+    /**
+     * Find the total approved points of some users in a challenge. Users without approved completions are left out.
+     *
+     * @param challengeId the ID of the challenge
+     * @param userIds the IDs of the users
+     * @return the user scores
+     */
+    @Query(APPROVED_SCORES + " AND tc.user.id IN :userIds GROUP BY tc.user.id")
+    List<UserScoreView> findApprovedScores(Long challengeId, Collection<Long> userIds);
+
+    /**
+     * Find the IDs of the challenges that have approved completions.
+     *
+     * @return the challenge IDs
+     */
+    @Query("SELECT DISTINCT t.challenge.id FROM TaskCompletion tc JOIN tc.task t WHERE tc.verificationStatus = 'APPROVED'")
+    List<Long> findChallengeIdsWithApprovedCompletions();
+
+    /**
+     * Find which of some tasks a user has done: one-off tasks completed at any time, recurring tasks completed
+     * within a time range. Rejected completions don't count.
+     *
+     * @param userId the ID of the user
+     * @param taskIds the IDs of the tasks
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @return the IDs of the tasks done
+     */
+    @Query("SELECT DISTINCT t.id FROM TaskCompletion tc JOIN tc.task t WHERE tc.user.id = :userId AND t.id IN :taskIds "
+            + "AND tc.verificationStatus <> 'REJECTED' "
+            + "AND (t.isRecurring = false OR (tc.completionDate >= :from AND tc.completionDate < :to))")
+    List<Long> findDoneTaskIds(Long userId, Collection<Long> taskIds, LocalDateTime from, LocalDateTime to);
+}
@@ -1,11 +1,22 @@
 package com.strivesync.repository;
 
 import com.strivesync.domain.User;
+import com.strivesync.repository.projection.UserIdentityView;
+import com.strivesync.repository.projection.UserSecurityVersionView;
+import com.strivesync.repository.projection.UsernameView;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 /**
  * Repository interface for User entity.
@@ -46,12 +57,47 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByEmail(String email);
 
     /**
-     * Find a user by username or email.
+     * Find a user by username or email, with its roles fetched in the same statement.
      *
      * @param username the username to search for
      * @param email the email to search for
      * @return an Optional containing the user if found, or empty if not found
      */
-    @Query("SELECT u FROM User u WHERE u.username = :username OR u.email = :email")
+    @Query("SELECT u FROM User u LEFT JOIN FETCH u.roles WHERE u.username = :username OR u.email = :email")
     Optional<User> findByUsernameOrEmail(String username, String email);
-} 
\ No newline at end of file
+
+    /**
+     * Find the security version stamps of users whose security state has changed at least once.
+     *
+     * @return the ids and security versions of those users
+     */
+    @Query("SELECT u.id AS id, u.securityVersion AS securityVersion FROM User u WHERE u.securityVersion > 0")
+    List<UserSecurityVersionView> findChangedSecurityVersions();
+
+    /**
+     * Stream the usernames and emails of all users. Must be consumed inside a transaction.
+     *
+     * @return a stream of user identities
+     */
+    @Query("SELECT u.username AS username, u.email AS email FROM User u")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<UserIdentityView> streamIdentities();
+
+    /**
+     * Stream the ids and usernames of all users. Must be consumed inside a transaction.
+     *
+     * @return a stream of usernames
+     */
+    @Query("SELECT u.id AS id, u.username AS username FROM User u")
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "1000"), @QueryHint(name = HINT_READ_ONLY, value = "true")})
+    Stream<UsernameView> streamUsernames();
+
+    /**
+     * Find the usernames of some users.
+     *
+     * @param ids the user IDs
+     * @return the ids and usernames of the users that exist
+     */
+    @Query("SELECT u.id AS id, u.username AS username FROM User u WHERE u.id IN :ids")
+    List<UsernameView> findUsernamesByIdIn(Collection<Long> ids);
+}
@@ -0,0 +1,17 @@
+package com.strivesync.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of the date range of a challenge, the window its tasks are due in.
+ */
+public interface ChallengeScheduleView {
+
+    Long getId();
+
+    String getTitle();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
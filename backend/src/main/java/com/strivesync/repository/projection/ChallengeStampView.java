@@ -0,0 +1,17 @@
+package com.strivesync.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the columns that change whenever a challenge or its tasks change.
+ */
+public interface ChallengeStampView {
+
+    LocalDateTime getUpdatedAt();
+
+    LocalDateTime getTasksUpdatedAt();
+
+    long getTaskCount();
+
+    long getParticipantCount();
+}
@@ -0,0 +1,13 @@
+package com.strivesync.repository.projection;
+
+/**
+ * Projection of a challenge title with its popularity.
+ */
+public interface ChallengeTitleView {
+
+    Long getId();
+
+    String getTitle();
+
+    Long getParticipantCount();
+}
@@ -0,0 +1,11 @@
+package com.strivesync.repository.projection;
+
+/**
+ * Projection of the challenge a task belongs to and the points it is worth.
+ */
+public interface TaskPointsView {
+
+    Long getChallengeId();
+
+    Integer getPoints();
+}
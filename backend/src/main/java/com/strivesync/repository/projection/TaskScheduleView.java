@@ -0,0 +1,19 @@
+package com.strivesync.repository.projection;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a task's recurrence with the date range of its challenge.
+ */
+public interface TaskScheduleView {
+
+    Long getChallengeId();
+
+    Boolean getRecurring();
+
+    String getRecurrencePattern();
+
+    LocalDate getStartDate();
+
+    LocalDate getEndDate();
+}
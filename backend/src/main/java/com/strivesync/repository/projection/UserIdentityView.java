@@ -0,0 +1,11 @@
+package com.strivesync.repository.projection;
+
+/**
+ * Projection of the unique identifiers of a user.
+ */
+public interface UserIdentityView {
+
+    String getUsername();
+
+    String getEmail();
+}
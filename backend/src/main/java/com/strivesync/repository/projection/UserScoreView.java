@@ -0,0 +1,11 @@
+package com.strivesync.repository.projection;
+
+/**
+ * Projection of a user's total approved points in a challenge.
+ */
+public interface UserScoreView {
+
+    Long getUserId();
+
+    Long getScore();
+}
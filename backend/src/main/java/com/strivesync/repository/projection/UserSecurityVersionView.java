@@ -0,0 +1,11 @@
+package com.strivesync.repository.projection;
+
+/**
+ * Projection of a user's id and security version stamp.
+ */
+public interface UserSecurityVersionView {
+
+    Long getId();
+
+    long getSecurityVersion();
+}
@@ -0,0 +1,11 @@
+package com.strivesync.repository.projection;
+
+/**
+ * Projection of a user's id and username.
+ */
+public interface UsernameView {
+
+    Long getId();
+
+    String getUsername();
+}
@@ -0,0 +1,140 @@
+package com.strivesync.security;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.strivesync.domain.User;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.extern.jackson.Jacksonized;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable principal for an authenticated user.
+ * Built either from the database or, in stateless mode, from the claims of a verified access token.
+ * Principals loaded from the database also carry the profile fields needed for a user summary, so callers
+ * don't have to load the user a second time. Being immutable, a single instance can be shared through the user cache.
+ */
+@Getter
+@Builder
+@Jacksonized
+@JsonIgnoreProperties(ignoreUnknown = true)
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class AuthenticatedUser implements UserDetails {
+
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_ENABLED = "enabled";
+    static final String CLAIM_SECURITY_VERSION = "sv";
+
+    private final Long id;
+    private final String username;
+    @JsonIgnore
+    private final String password;
+    private final String email;
+    private final String fullName;
+    private final String profileImageUrl;
+    private final Set<String> roles;
+    private final boolean enabled;
+    private final long securityVersion;
+
+    /**
+     * Create a principal from a user entity.
+     *
+     * @param user the user
+     * @return the principal
+     */
+    public static AuthenticatedUser fromUser(User user) {
+        return AuthenticatedUser.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .password(user.getPasswordHash())
+                .email(user.getEmail())
+                .fullName(user.getFullName())
+                .profileImageUrl(user.getProfileImageUrl())
+                .roles(Set.copyOf(user.getRoles()))
+                .enabled(user.isEnabled())
+                .securityVersion(user.getSecurityVersion())
+                .build();
+    }
+
+    /**
+     * Create a principal from the claims of a verified access token.
+     * Profile fields are not part of the token and are left empty.
+     *
+     * @param token the verified token
+     * @return the principal, or null if the token doesn't carry the user claims
+     */
+    static AuthenticatedUser fromToken(VerifiedToken token) {
+        Number userId = token.getClaim(CLAIM_USER_ID, Number.class);
+        Number securityVersion = token.getClaim(CLAIM_SECURITY_VERSION, Number.class);
+        Collection<?> roles = token.getClaim(CLAIM_ROLES, Collection.class);
+        Boolean enabled = token.getClaim(CLAIM_ENABLED, Boolean.class);
+        if (userId == null || securityVersion == null || roles == null || enabled == null) {
+            return null;
+        }
+
+        return AuthenticatedUser.builder()
+                .id(userId.longValue())
+                .username(token.getSubject())
+                .roles(roles.stream().map(String::valueOf).collect(Collectors.toUnmodifiableSet()))
+                .enabled(enabled)
+                .securityVersion(securityVersion.longValue())
+                .build();
+    }
+
+    /**
+     * Get a copy of this principal without the password hash, safe to share through caches.
+     *
+     * @return the principal without its password hash
+     */
+    public AuthenticatedUser withoutPassword() {
+        return password == null ? this
+                : new AuthenticatedUser(id, username, null, email, fullName, profileImageUrl, roles, enabled, securityVersion);
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return roles.stream()
+                .map(SimpleGrantedAuthority::new)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    /**
+     * Get the claims that let the filter rebuild this principal without a database lookup.
+     *
+     * @return the claims to embed in an access token
+     */
+    Map<String, Object> toClaims() {
+        return Map.of(
+                CLAIM_USER_ID, id,
+                CLAIM_ROLES, List.copyOf(roles),
+                CLAIM_ENABLED, enabled,
+                CLAIM_SECURITY_VERSION, securityVersion
+        );
+    }
+}
@@ -2,48 +2,90 @@ package com.strivesync.security;
 
 import com.strivesync.domain.User;
 import com.strivesync.repository.UserRepository;
+import com.strivesync.service.event.UserSecurityChangedEvent;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.stream.Collectors;
-
 /**
  * Custom implementation of UserDetailsService for loading user-specific data.
+ * Password checks always load the user and its hash from the database. Token-authenticated requests use
+ * {@link #loadPrincipal(String)}, served from the two-level {@link UserDetailsCache}, which never holds hashes.
+ * As a {@link UserDetailsPasswordService}, it also stores password hashes that the authentication provider
+ * re-encoded after a successful login because they were weaker than the configured encoder.
  */
+@Slf4j
 @Service
 @RequiredArgsConstructor
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final UserDetailsCache userDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
-     * Load a user by username.
+     * Load a user with its password hash, for authentication.
      *
-     * @param username the username to load
+     * @param username the username or email to load
      * @return the UserDetails for the user
      * @throws UsernameNotFoundException if the user is not found
      */
     @Override
-    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return loadFromDatabase(username);
+    }
+
+    /**
+     * Load a user without its password hash, for requests authenticated by a token.
+     *
+     * @param username the username or email to load
+     * @return the principal for the user
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    public AuthenticatedUser loadPrincipal(String username) throws UsernameNotFoundException {
+        return userDetailsCache.get(username, this::loadFromDatabase);
+    }
+
+    /**
+     * Load a user from the database by username or email.
+     *
+     * @param username the username or email to load
+     * @return the principal for the user
+     * @throws UsernameNotFoundException if the user is not found
+     */
+    private AuthenticatedUser loadFromDatabase(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsernameOrEmail(username, username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username or email: " + username));
 
-        return org.springframework.security.core.userdetails.User.builder()
-                .username(user.getUsername())
-                .password(user.getPasswordHash())
-                .authorities(user.getRoles().stream()
-                        .map(SimpleGrantedAuthority::new)
-                        .collect(Collectors.toList()))
-                .disabled(!user.isEnabled())
-                .accountExpired(false)
-                .accountLocked(false)
-                .credentialsExpired(false)
-                .build();
+        return AuthenticatedUser.fromUser(user);
+    }
+
+    /**
+     * Store an upgraded password hash.
+     * The password itself is unchanged, so the security version is kept and issued tokens stay valid;
+     * the change event only evicts the cached hash.
+     *
+     * @param userDetails the authenticated user
+     * @param newPassword the re-encoded password hash
+     * @return the updated user details
+     */
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails userDetails, String newPassword) {
+        User user = userRepository.findByUsername(userDetails.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + userDetails.getUsername()));
+        user.setPasswordHash(newPassword);
+        User saved = userRepository.save(user);
+        log.debug("Upgraded password hash for user {}", saved.getUsername());
+
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(
+                saved.getId(), saved.getUsername(), saved.getEmail(), saved.getSecurityVersion()));
+        return AuthenticatedUser.fromUser(saved);
     }
-} 
\ No newline at end of file
+}
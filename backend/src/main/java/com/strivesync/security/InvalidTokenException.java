@@ -0,0 +1,17 @@
+package com.strivesync.security;
+
+import org.springframework.security.core.AuthenticationException;
+
+/**
+ * Exception thrown when a presented token is malformed, expired, revoked or reused.
+ */
+public class InvalidTokenException extends AuthenticationException {
+
+    public InvalidTokenException(String message) {
+        super(message);
+    }
+
+    public InvalidTokenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
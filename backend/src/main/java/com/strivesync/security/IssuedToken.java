@@ -0,0 +1,15 @@
+package com.strivesync.security;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * A freshly minted JWT together with its expiration, so callers don't have to parse it back.
+ */
+@Value
+public class IssuedToken {
+
+    String token;
+    Instant expiresAt;
+}
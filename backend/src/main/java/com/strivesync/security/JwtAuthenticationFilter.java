@@ -5,11 +5,11 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -19,13 +19,20 @@ import java.io.IOException;
 /**
  * Filter for JWT authentication.
  * This filter intercepts all requests and validates the JWT token if present.
+ * In stateless mode the principal is rebuilt from the token claims, and the database is only
+ * consulted when the token's security version stamp is stale.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtService jwtService;
-    private final UserDetailsService userDetailsService;
+    private final CustomUserDetailsService userDetailsService;
+    private final SecurityVersionRegistry securityVersionRegistry;
+    private final TokenRevocationService tokenRevocationService;
+
+    @Value("${jwt.stateless:false}")
+    private boolean stateless;
 
     @Override
     protected void doFilterInternal(
@@ -35,6 +42,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
+        final VerifiedToken token;
         final String username;
 
         // If no Authorization header or it doesn't start with "Bearer ", continue to the next filter
@@ -47,16 +55,20 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         jwt = authHeader.substring(7);
         
         try {
-            // Extract the username from the JWT token
-            username = jwtService.extractUsername(jwt);
+            // Verify the JWT token once and extract the username from its claims
+            token = jwtService.verify(jwt);
+            username = token.getSubject();
             
-            // If username is not null and there is no authentication in the SecurityContext
-            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                // Load the user details from the database
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+            // If username is not null, the token is a live access token and there is no authentication in the SecurityContext
+            if (username != null
+                    && !token.isRefreshToken()
+                    && SecurityContextHolder.getContext().getAuthentication() == null
+                    && !tokenRevocationService.isRevoked(token.getId())) {
+                // Resolve the user from the token claims or the database
+                UserDetails userDetails = resolveUserDetails(token);
                 
                 // If the token is valid, set the authentication in the SecurityContext
-                if (jwtService.isTokenValid(jwt, userDetails)) {
+                if (userDetails.isEnabled() && jwtService.isTokenValid(token, userDetails)) {
                     UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
                             userDetails,
                             null,
@@ -75,4 +87,27 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continue to the next filter
         filterChain.doFilter(request, response);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Resolve the principal for a verified token.
+     *
+     * @param token the verified token
+     * @return the user details
+     */
+    private UserDetails resolveUserDetails(VerifiedToken token) {
+        if (stateless) {
+            AuthenticatedUser principal = AuthenticatedUser.fromToken(token);
+            if (principal != null
+                    && !securityVersionRegistry.isStale(principal.getId(), principal.getSecurityVersion())) {
+                return principal;
+            }
+        }
+
+        // Load the user details from the database
+        UserDetails userDetails = this.userDetailsService.loadPrincipal(token.getSubject());
+        if (userDetails instanceof AuthenticatedUser user) {
+            securityVersionRegistry.record(user.getId(), user.getSecurityVersion());
+        }
+        return userDetails;
+    }
+}
@@ -1,18 +1,30 @@
 package com.strivesync.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 import java.util.function.Function;
 
 /**
@@ -21,6 +33,9 @@ import java.util.function.Function;
 @Service
 public class JwtService {
 
+    static final String CLAIM_TOKEN_TYPE = "typ";
+    static final String TOKEN_TYPE_REFRESH = "refresh";
+
     @Value("${jwt.secret}")
     private String secretKey;
 
@@ -30,6 +45,51 @@ public class JwtService {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    @Value("${jwt.verified-token-cache.maximum-size:10000}")
+    private long verifiedTokenCacheSize;
+
+    private Key signInKey;
+    private JwtParser jwtParser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * Decode the signing key and build the parser and verified-token cache once.
+     * The parser is immutable and safe to share between request threads.
+     */
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        jwtParser = Jwts
+                .parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedTokenCacheSize)
+                .expireAfter(new TokenExpiry())
+                .build();
+    }
+
+    /**
+     * Verify a JWT token and return its claims.
+     * Signature and expiration are checked once; recently verified tokens are served from a cache
+     * keyed by the token digest until they expire.
+     *
+     * @param token the JWT token
+     * @return the verified token
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(digest);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        VerifiedToken verified = VerifiedToken.from(extractAllClaims(token));
+        verifiedTokens.put(digest, verified);
+        return verified;
+    }
+
     /**
      * Extract the username from a JWT token.
      *
@@ -37,7 +97,7 @@ public class JwtService {
      * @return the username
      */
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).getSubject();
     }
 
     /**
@@ -71,17 +131,54 @@ public class JwtService {
      * @return the JWT token
      */
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        return buildToken(extraClaims, userDetails, jwtExpiration);
+        return buildToken(extraClaims, userDetails, jwtExpiration).getToken();
     }
 
     /**
-     * Generate a refresh token for a user.
+     * Issue an access token for a user.
+     * Every access token has a unique id (jti) so it can be revoked individually.
+     * Tokens for an {@link AuthenticatedUser} carry the user id, roles, enabled flag and security version,
+     * so stateless authentication can rebuild the principal from the claims alone.
      *
      * @param userDetails the user details
-     * @return the refresh token
+     * @return the access token and its expiration
      */
-    public String generateRefreshToken(UserDetails userDetails) {
-        return buildToken(new HashMap<>(), userDetails, refreshExpiration);
+    public IssuedToken issueAccessToken(UserDetails userDetails) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.putAll(user.toClaims());
+        }
+        return buildToken(claims, userDetails, jwtExpiration);
+    }
+
+    /**
+     * Issue a refresh token for a user.
+     * Refresh tokens belong to a rotation family and carry their own token id and the user's security version.
+     *
+     * @param userDetails the user details
+     * @param familyId the rotation family the token belongs to
+     * @param tokenId the unique id of the token
+     * @return the refresh token and its expiration
+     */
+    public IssuedToken issueRefreshToken(UserDetails userDetails, String familyId, String tokenId) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_TOKEN_TYPE, TOKEN_TYPE_REFRESH);
+        claims.put(RefreshTokenService.CLAIM_FAMILY, familyId);
+        claims.put(Claims.ID, tokenId);
+        if (userDetails instanceof AuthenticatedUser user) {
+            claims.put(AuthenticatedUser.CLAIM_SECURITY_VERSION, user.getSecurityVersion());
+        }
+        return buildToken(claims, userDetails, refreshExpiration);
+    }
+
+    /**
+     * Get the lifetime of refresh tokens.
+     *
+     * @return the refresh token lifetime in milliseconds
+     */
+    public long getRefreshExpiration() {
+        return refreshExpiration;
     }
 
     /**
@@ -90,17 +187,20 @@ public class JwtService {
      * @param extraClaims the extra claims to include in the token
      * @param userDetails the user details
      * @param expiration the expiration time in milliseconds
-     * @return the JWT token
+     * @return the JWT token and its expiration
      */
-    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
-        return Jwts
+    private IssuedToken buildToken(Map<String, Object> extraClaims, UserDetails userDetails, long expiration) {
+        long now = System.currentTimeMillis();
+        Date expiresAt = new Date(now + expiration);
+        String token = Jwts
                 .builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setIssuedAt(new Date(now))
+                .setExpiration(expiresAt)
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
+        return new IssuedToken(token, expiresAt.toInstant());
     }
 
     /**
@@ -111,18 +211,36 @@ public class JwtService {
      * @return true if the token is valid, false otherwise
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        return isTokenValid(verify(token), userDetails);
     }
 
     /**
-     * Check if a JWT token is expired.
+     * Check if an already verified token belongs to a user, is not expired and was issued
+     * after the user's last security change.
      *
-     * @param token the JWT token
-     * @return true if the token is expired, false otherwise
+     * @param token the verified token
+     * @param userDetails the user details
+     * @return true if the token is valid, false otherwise
+     */
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.getSubject().equals(userDetails.getUsername())
+                && !token.isExpired()
+                && !isSecurityVersionStale(token, userDetails);
+    }
+
+    /**
+     * Check if a token was issued before the user's current security version.
+     * Tokens without a version stamp are only checked for subject and expiration.
+     *
+     * @param token the verified token
+     * @param userDetails the user details
+     * @return true if the token's version stamp is stale, false otherwise
      */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private boolean isSecurityVersionStale(VerifiedToken token, UserDetails userDetails) {
+        Number tokenVersion = token.getClaim(AuthenticatedUser.CLAIM_SECURITY_VERSION, Number.class);
+        return tokenVersion != null
+                && userDetails instanceof AuthenticatedUser user
+                && tokenVersion.longValue() < user.getSecurityVersion();
     }
 
     /**
@@ -132,7 +250,7 @@ public class JwtService {
      * @return the expiration date
      */
     public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return Date.from(verify(token).getExpiration());
     }
 
     /**
@@ -142,21 +260,47 @@ public class JwtService {
      * @return the claims
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
+        return jwtParser
                 .parseClaimsJws(token)
                 .getBody();
     }
 
     /**
-     * Get the signing key for JWT tokens.
+     * Compute the cache key for a token, so raw tokens are never retained in memory.
      *
-     * @return the signing key
+     * @param token the JWT token
+     * @return the SHA-256 digest of the token
      */
-    private Key getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Expires cached tokens at the moment the token itself expires.
+     */
+    private static class TokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            if (value.getExpiration() == null) {
+                return Long.MAX_VALUE;
+            }
+            return Math.max(0, Duration.between(Instant.now(), value.getExpiration()).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,256 @@
+package com.strivesync.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throttles login attempts per client IP (all attempts) and per account (failed attempts).
+ * <p>
+ * The check on the request path only reads local state: each key has a striped {@link LongAdder} of attempts
+ * not yet reported and the number of tokens its global bucket had at the last sync. A background task
+ * periodically drains the local counts into token buckets in Redis, so limits hold across all nodes. Buckets
+ * with nothing to report are refilled locally and only pick up attempts made on other nodes at their next report.
+ * If Redis is unavailable the buckets are refilled locally, and limits become per node.
+ * <p>
+ * Every key is tracked: the local buckets are a bounded Caffeine cache, so a flood of new keys evicts the
+ * least valuable buckets instead of leaving new keys unthrottled. An evicted bucket reports its pending attempts,
+ * and a key that comes back picks up its remaining tokens from Redis at the next sync.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class LoginThrottle {
+
+    private static final String KEY_PREFIX = "login-throttle:";
+    private static final long IDLE_TIMEOUT_MILLIS = 60_000;
+
+    /**
+     * Refills the bucket for the elapsed time, consumes the reported attempts and returns the remaining tokens.
+     */
+    private static final RedisScript<String> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "local capacity = tonumber(ARGV[1]) "
+                    + "local rate = tonumber(ARGV[2]) "
+                    + "local now = tonumber(ARGV[3]) "
+                    + "local requested = tonumber(ARGV[4]) "
+                    + "local state = redis.call('HMGET', KEYS[1], 'tokens', 'ts') "
+                    + "local tokens = tonumber(state[1]) or capacity "
+                    + "local ts = tonumber(state[2]) or now "
+                    + "tokens = math.min(capacity, tokens + math.max(0, now - ts) * rate) - requested "
+                    + "if tokens < 0 then tokens = 0 end "
+                    + "redis.call('HSET', KEYS[1], 'tokens', tostring(tokens), 'ts', tostring(now)) "
+                    + "redis.call('PEXPIRE', KEYS[1], math.ceil(capacity / rate)) "
+                    + "return tostring(tokens)",
+            String.class);
+
+    private static final byte[] CONSUME_SCRIPT_BYTES = bytes(CONSUME_SCRIPT.getScriptAsString());
+
+    /**
+     * Number of buckets reported per pipeline.
+     */
+    private static final int SYNC_BATCH_SIZE = 500;
+
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, Bucket> buckets;
+
+    @Value("${security.login-throttle.ip.capacity:20}")
+    private long ipCapacity;
+
+    @Value("${security.login-throttle.ip.refill-per-minute:20}")
+    private long ipRefillPerMinute;
+
+    @Value("${security.login-throttle.account.capacity:5}")
+    private long accountCapacity;
+
+    @Value("${security.login-throttle.account.refill-per-minute:1}")
+    private long accountRefillPerMinute;
+
+    @Value("${security.login-throttle.max-tracked-keys:100000}")
+    private int maxTrackedKeys;
+
+    @PostConstruct
+    void init() {
+        buckets = Caffeine.newBuilder()
+                .maximumSize(maxTrackedKeys)
+                .evictionListener(this::onEvicted)
+                .build();
+    }
+
+    /**
+     * Check whether a login attempt may proceed and count it against the client IP.
+     *
+     * @param clientIp the client IP address
+     * @param login the username or email being logged into
+     * @throws TooManyRequestsException if the IP or the account is throttled
+     */
+    public void checkAttempt(String clientIp, String login) {
+        Bucket account = buckets.getIfPresent(accountKey(login));
+        if (account != null && account.isExhausted()) {
+            reject("account", accountRefillPerMinute);
+        }
+
+        Bucket ip = bucket(ipKey(clientIp), ipCapacity, ipRefillPerMinute);
+        if (ip.isExhausted()) {
+            reject("ip", ipRefillPerMinute);
+        }
+        ip.pending.increment();
+    }
+
+    /**
+     * Count a failed login against the account.
+     *
+     * @param login the username or email that failed to log in
+     */
+    public void recordFailure(String login) {
+        bucket(accountKey(login), accountCapacity, accountRefillPerMinute).pending.increment();
+    }
+
+    /**
+     * Report local attempt counts to the shared token buckets and pick up the global remaining tokens.
+     * Only buckets with attempts to report are sent, in pipelined batches; the others are refilled locally,
+     * and those that are full and idle are dropped.
+     */
+    @Scheduled(fixedDelayString = "${security.login-throttle.sync-interval:1000}")
+    public void sync() {
+        long now = System.currentTimeMillis();
+        List<Report> reports = new ArrayList<>();
+        buckets.asMap().forEach((key, bucket) -> {
+            long attempts = bucket.pending.sumThenReset();
+            if (attempts > 0) {
+                bucket.lastAttempt = now;
+                reports.add(new Report(key, bucket, attempts));
+            } else if (bucket.tokens < bucket.capacity) {
+                bucket.tokens = refill(bucket, 0, now);
+                bucket.lastSynced = now;
+            } else if (now - bucket.lastAttempt > IDLE_TIMEOUT_MILLIS) {
+                buckets.asMap().remove(key, bucket);
+            }
+        });
+        for (int from = 0; from < reports.size(); from += SYNC_BATCH_SIZE) {
+            consume(reports.subList(from, Math.min(reports.size(), from + SYNC_BATCH_SIZE)), now);
+        }
+    }
+
+    /**
+     * Consume the reported attempts from the shared buckets in one pipeline and store the remaining tokens.
+     *
+     * @param reports the buckets and their attempts
+     * @param now the current time in milliseconds
+     */
+    private void consume(List<Report> reports, long now) {
+        List<Object> remaining = null;
+        try {
+            remaining = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                for (Report report : reports) {
+                    connection.scriptingCommands().eval(CONSUME_SCRIPT_BYTES, ReturnType.VALUE, 1,
+                            bytes(KEY_PREFIX + report.key()),
+                            bytes(String.valueOf(report.bucket().capacity)),
+                            bytes(String.valueOf(report.bucket().ratePerMilli())),
+                            bytes(String.valueOf(now)),
+                            bytes(String.valueOf(report.attempts())));
+                }
+                return null;
+            });
+        } catch (DataAccessException e) {
+            log.debug("Could not sync {} login throttle buckets, refilling locally", reports.size(), e);
+        }
+
+        for (int i = 0; i < reports.size(); i++) {
+            Bucket bucket = reports.get(i).bucket();
+            Object tokens = remaining != null && i < remaining.size() ? remaining.get(i) : null;
+            bucket.tokens = tokens instanceof String value
+                    ? Double.parseDouble(value)
+                    : refill(bucket, reports.get(i).attempts(), now);
+            bucket.lastSynced = now;
+        }
+    }
+
+    private static double refill(Bucket bucket, long attempts, long now) {
+        double refilled = Math.min(bucket.capacity, bucket.tokens + (now - bucket.lastSynced) * bucket.ratePerMilli());
+        return Math.max(0, refilled - attempts);
+    }
+
+    private Bucket bucket(String key, long capacity, long refillPerMinute) {
+        return buckets.get(key, k -> new Bucket(capacity, refillPerMinute));
+    }
+
+    private void onEvicted(String key, Bucket bucket, RemovalCause cause) {
+        long attempts = bucket.pending.sumThenReset();
+        if (attempts > 0) {
+            meterRegistry.counter("security.login.throttle.evicted").increment();
+            consume(List.of(new Report(key, bucket, attempts)), System.currentTimeMillis());
+        }
+    }
+
+    private void reject(String dimension, long refillPerMinute) {
+        meterRegistry.counter("security.login.throttled", "dimension", dimension).increment();
+        long retryAfter = (long) Math.ceil(60.0 / Math.max(1, refillPerMinute));
+        throw new TooManyRequestsException("Too many login attempts, please try again later", retryAfter);
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String ipKey(String clientIp) {
+        return "ip:" + clientIp;
+    }
+
+    private static String accountKey(String login) {
+        return "account:" + login.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Attempts taken from a bucket, to be reported to Redis.
+     */
+    private record Report(String key, Bucket bucket, long attempts) {
+    }
+
+    /**
+     * Local view of one token bucket.
+     */
+    private static final class Bucket {
+
+        private final long capacity;
+        private final long refillPerMinute;
+        private final LongAdder pending = new LongAdder();
+        private volatile double tokens;
+        private volatile long lastSynced = System.currentTimeMillis();
+        private volatile long lastAttempt = lastSynced;
+
+        private Bucket(long capacity, long refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+            this.tokens = capacity;
+        }
+
+        private boolean isExhausted() {
+            return tokens - pending.sum() < 1;
+        }
+
+        private double ratePerMilli() {
+            return refillPerMinute / 60_000.0;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.strivesync.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded executor for password hashing work (BCrypt encoding and matching).
+ * Keeps bursts of logins and registrations from occupying every request thread:
+ * at most {@code pool-size} hashes run at once, at most {@code queue-capacity} wait,
+ * and anything beyond that is rejected immediately with a {@link TooManyRequestsException}.
+ */
+@Component
+@RequiredArgsConstructor
+public class PasswordHashingExecutor {
+
+    private static final String METRIC_PREFIX = "security.password.hashing";
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.password-hashing.pool-size:0}")
+    private int poolSize;
+
+    @Value("${security.password-hashing.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${security.password-hashing.retry-after:1}")
+    private long retryAfterSeconds;
+
+    private ThreadPoolExecutor executor;
+    private Timer hashTimer;
+    private Counter rejections;
+
+    @PostConstruct
+    void init() {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-hashing-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        hashTimer = Timer.builder(METRIC_PREFIX + ".duration")
+                .description("Time spent hashing or verifying passwords")
+                .register(meterRegistry);
+        rejections = Counter.builder(METRIC_PREFIX + ".rejected")
+                .description("Hashing tasks rejected because the pool was saturated")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".queue", executor, pool -> pool.getQueue().size())
+                .description("Hashing tasks waiting for a thread")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hashing tasks currently running")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+
+    /**
+     * Run a hashing task on the pool and wait for its result.
+     * Runtime exceptions thrown by the task (e.g. BadCredentialsException) are rethrown unchanged.
+     *
+     * @param task the hashing task
+     * @param <T> the type of the result
+     * @return the result of the task
+     * @throws TooManyRequestsException if the pool and its queue are full
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> hashTimer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new TooManyRequestsException("Too many authentication requests, please try again shortly", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Password hashing failed", cause);
+        }
+    }
+}
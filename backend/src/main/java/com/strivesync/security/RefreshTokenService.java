@@ -0,0 +1,137 @@
+package com.strivesync.security;
+
+import io.jsonwebtoken.JwtException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Service for issuing and rotating one-time refresh tokens.
+ * Each login starts a token family; Redis stores the id of the only token in the family that may still be used.
+ * Presenting an older token of the family is treated as theft and revokes the whole family.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RefreshTokenService {
+
+    static final String CLAIM_FAMILY = "fam";
+
+    private static final String KEY_PREFIX = "refresh-family:";
+
+    /**
+     * Atomically swaps the current token id of a family.
+     * Returns 1 on success, 0 if the family is unknown, and -1 (after deleting the family) on reuse.
+     */
+    private static final RedisScript<Long> ROTATE_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('GET', KEYS[1]) "
+                    + "if not current then return 0 end "
+                    + "if current ~= ARGV[1] then redis.call('DEL', KEYS[1]) return -1 end "
+                    + "redis.call('SET', KEYS[1], ARGV[2], 'PX', ARGV[3]) "
+                    + "return 1",
+            Long.class);
+
+    private final JwtService jwtService;
+    private final CustomUserDetailsService userDetailsService;
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Issue the first refresh token of a new family.
+     *
+     * @param userDetails the user details
+     * @return the refresh token
+     */
+    public IssuedToken issue(UserDetails userDetails) {
+        String familyId = UUID.randomUUID().toString();
+        String tokenId = UUID.randomUUID().toString();
+        IssuedToken refreshToken = jwtService.issueRefreshToken(userDetails, familyId, tokenId);
+        redisTemplate.opsForValue().set(KEY_PREFIX + familyId, tokenId, Duration.ofMillis(jwtService.getRefreshExpiration()));
+        return refreshToken;
+    }
+
+    /**
+     * Exchange a refresh token for a new access token and the next refresh token of its family.
+     * The presented token can't be used again.
+     *
+     * @param refreshToken the refresh token
+     * @return the user and the new tokens
+     * @throws InvalidTokenException if the token is invalid, expired, revoked or has already been used
+     */
+    public RefreshedTokens rotate(String refreshToken) {
+        VerifiedToken token = verify(refreshToken);
+        String familyId = token.getClaim(CLAIM_FAMILY, String.class);
+        if (!token.isRefreshToken() || familyId == null || token.getId() == null) {
+            throw new InvalidTokenException("Invalid refresh token");
+        }
+
+        String nextTokenId = UUID.randomUUID().toString();
+        Long result = redisTemplate.execute(
+                ROTATE_SCRIPT,
+                List.of(KEY_PREFIX + familyId),
+                token.getId(),
+                nextTokenId,
+                String.valueOf(jwtService.getRefreshExpiration())
+        );
+        if (result == null || result == 0) {
+            throw new InvalidTokenException("Refresh token has expired or been revoked");
+        }
+        if (result < 0) {
+            log.warn("Refresh token reuse detected for user {}, revoked token family {}", token.getSubject(), familyId);
+            throw new InvalidTokenException("Refresh token has already been used");
+        }
+
+        UserDetails userDetails = loadUser(token.getSubject());
+        if (!userDetails.isEnabled() || !jwtService.isTokenValid(token, userDetails)) {
+            redisTemplate.delete(KEY_PREFIX + familyId);
+            throw new InvalidTokenException("Refresh token is no longer valid for this user");
+        }
+
+        return new RefreshedTokens(
+                userDetails,
+                jwtService.issueAccessToken(userDetails),
+                jwtService.issueRefreshToken(userDetails, familyId, nextTokenId)
+        );
+    }
+
+    /**
+     * Revoke the family of a refresh token, so neither it nor any later token of the family can be used.
+     * Invalid tokens are ignored.
+     *
+     * @param refreshToken the refresh token
+     */
+    public void revokeFamily(String refreshToken) {
+        try {
+            String familyId = jwtService.verify(refreshToken).getClaim(CLAIM_FAMILY, String.class);
+            if (familyId != null) {
+                redisTemplate.delete(KEY_PREFIX + familyId);
+            }
+        } catch (JwtException | IllegalArgumentException e) {
+            log.debug("Ignoring invalid refresh token on revocation", e);
+        }
+    }
+
+    private VerifiedToken verify(String refreshToken) {
+        try {
+            return jwtService.verify(refreshToken);
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new InvalidTokenException("Invalid refresh token", e);
+        }
+    }
+
+    private UserDetails loadUser(String username) {
+        try {
+            return userDetailsService.loadPrincipal(username);
+        } catch (UsernameNotFoundException e) {
+            throw new InvalidTokenException("Refresh token is no longer valid for this user", e);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.strivesync.security;
+
+import lombok.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Result of a refresh token rotation: the user and the newly issued access and refresh tokens.
+ */
+@Value
+public class RefreshedTokens {
+
+    UserDetails user;
+    IssuedToken accessToken;
+    IssuedToken refreshToken;
+}
@@ -0,0 +1,68 @@
+package com.strivesync.security;
+
+import com.strivesync.repository.UserRepository;
+import com.strivesync.service.event.UserSecurityChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory record of the latest known security version of each user whose security state has changed.
+ * Lets stateless authentication tell whether a token's version stamp is stale without a database lookup.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SecurityVersionRegistry {
+
+    private final UserRepository userRepository;
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Load the versions of users that have changed since they were created.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadVersions() {
+        userRepository.findChangedSecurityVersions()
+                .forEach(view -> record(view.getId(), view.getSecurityVersion()));
+        log.info("Loaded security versions for {} users", versions.size());
+    }
+
+    /**
+     * Record a user's security version once the change that produced it has been committed.
+     *
+     * @param event the security change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        record(event.getUserId(), event.getSecurityVersion());
+    }
+
+    /**
+     * Record a user's security version. Versions only move forward.
+     *
+     * @param userId the user ID
+     * @param securityVersion the security version
+     */
+    public void record(Long userId, long securityVersion) {
+        versions.merge(userId, securityVersion, Math::max);
+    }
+
+    /**
+     * Check if a token's version stamp is older than the latest known version of the user.
+     *
+     * @param userId the user ID
+     * @param tokenVersion the security version carried by the token
+     * @return true if the stamp is stale, false otherwise
+     */
+    public boolean isStale(Long userId, long tokenVersion) {
+        Long current = versions.get(userId);
+        return current != null && current > tokenVersion;
+    }
+}
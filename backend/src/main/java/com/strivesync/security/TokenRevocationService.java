@@ -0,0 +1,136 @@
+package com.strivesync.security;
+
+import com.strivesync.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Denylist of revoked token ids (jti).
+ * <p>
+ * Revoked ids are stored in Redis with a TTL equal to the token's remaining lifetime, plus an index sorted by
+ * expiry. Each node keeps a Bloom filter of the index, rebuilt periodically and updated over pub/sub, so the
+ * common "not revoked" answer needs no network hop. Only Bloom filter hits are confirmed against Redis.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TokenRevocationService implements MessageListener {
+
+    private static final String KEY_PREFIX = "revoked-token:";
+    private static final String INDEX_KEY = "revoked-tokens";
+    private static final ChannelTopic CHANNEL = new ChannelTopic("revoked-tokens");
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${security.token-revocation.expected-tokens:100000}")
+    private long expectedTokens;
+
+    @Value("${security.token-revocation.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    private volatile BloomFilter revokedIds;
+
+    /**
+     * Ids revoked since the last rebuild started, re-applied after the rebuilt filter is swapped in.
+     */
+    private final Set<String> recentlyRevoked = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        revokedIds = BloomFilter.create(expectedTokens, falsePositiveRate);
+        listenerContainer.addMessageListener(this, CHANNEL);
+    }
+
+    /**
+     * Revoke a token until it expires.
+     *
+     * @param tokenId the token id (jti)
+     * @param expiresAt the token's expiration
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        Duration remaining = Duration.between(Instant.now(), expiresAt);
+        if (tokenId == null || remaining.isNegative() || remaining.isZero()) {
+            return;
+        }
+
+        redisTemplate.opsForValue().set(KEY_PREFIX + tokenId, "1", remaining);
+        redisTemplate.opsForZSet().add(INDEX_KEY, tokenId, expiresAt.toEpochMilli());
+        addLocal(tokenId);
+        redisTemplate.convertAndSend(CHANNEL.getTopic(), tokenId);
+    }
+
+    /**
+     * Check if a token has been revoked.
+     * If Redis can't confirm a Bloom filter hit, the token is treated as revoked.
+     *
+     * @param tokenId the token id (jti), may be null for tokens issued without one
+     * @return true if the token is revoked, false otherwise
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !revokedIds.mightContain(tokenId)) {
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(KEY_PREFIX + tokenId));
+        } catch (DataAccessException e) {
+            log.warn("Could not confirm revocation of token {}, rejecting it", tokenId, e);
+            return true;
+        }
+    }
+
+    /**
+     * Rebuild the local Bloom filter from the revocation index, dropping ids whose tokens have expired.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${security.token-revocation.sync-interval:30000}",
+            initialDelayString = "${security.token-revocation.sync-interval:30000}")
+    public void rebuild() {
+        Set<String> alreadyIndexed = Set.copyOf(recentlyRevoked);
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(INDEX_KEY, Double.NEGATIVE_INFINITY, System.currentTimeMillis());
+            Set<String> ids = redisTemplate.opsForZSet().range(INDEX_KEY, 0, -1);
+            int count = ids != null ? ids.size() : 0;
+
+            BloomFilter rebuilt = BloomFilter.create(Math.max(expectedTokens, count * 2L), falsePositiveRate);
+            if (ids != null) {
+                ids.forEach(rebuilt::put);
+            }
+            revokedIds = rebuilt;
+            recentlyRevoked.forEach(rebuilt::put);
+            recentlyRevoked.removeAll(alreadyIndexed);
+            log.debug("Rebuilt revoked token filter with {} ids", count);
+        } catch (DataAccessException e) {
+            log.warn("Could not rebuild revoked token filter, keeping the current one", e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        addLocal(new String(message.getBody(), StandardCharsets.UTF_8));
+    }
+
+    private void addLocal(String tokenId) {
+        recentlyRevoked.add(tokenId);
+        revokedIds.put(tokenId);
+    }
+}
@@ -0,0 +1,17 @@
+package com.strivesync.security;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when a request is rejected to protect the service from overload or abuse.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
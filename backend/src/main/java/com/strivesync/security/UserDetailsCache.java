@@ -0,0 +1,169 @@
+package com.strivesync.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strivesync.service.event.UserSecurityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Two-level cache of {@link AuthenticatedUser} principals keyed by the login name (username or email).
+ * L1 is a bounded in-process Caffeine cache; L2 is shared between nodes in Redis.
+ * Redis failures degrade to a database load rather than failing authentication.
+ * <p>
+ * Cached principals never carry the password hash; password checks load the user from the database.
+ * L2 entries are keyed by a per-login version counter that security changes bump, so a load that raced
+ * with a change can only write to a key that is no longer read.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserDetailsCache {
+
+    private static final String KEY_PREFIX = "user-details:v2:";
+    private static final String VERSION_KEY_PREFIX = "user-details:version:";
+    private static final String METRIC_NAME = "security.user.cache.remote";
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${security.user-cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${security.user-cache.local.ttl:300000}")
+    private long localTtl;
+
+    @Value("${security.user-cache.remote.ttl:1800000}")
+    private long remoteTtl;
+
+    private Cache<String, AuthenticatedUser> localCache;
+    private Counter remoteHits;
+    private Counter remoteMisses;
+    private Counter remoteErrors;
+
+    @PostConstruct
+    void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofMillis(localTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "userDetails");
+        remoteHits = meterRegistry.counter(METRIC_NAME, "result", "hit");
+        remoteMisses = meterRegistry.counter(METRIC_NAME, "result", "miss");
+        remoteErrors = meterRegistry.counter(METRIC_NAME, "result", "error");
+    }
+
+    /**
+     * Get a user from the cache, loading it from L2 or the given loader on a miss.
+     * Concurrent misses for the same login share a single load.
+     *
+     * @param login the username or email
+     * @param loader the loader used when neither cache level has the user
+     * @return the user
+     */
+    public AuthenticatedUser get(String login, Function<String, AuthenticatedUser> loader) {
+        return localCache.get(login, key -> {
+            String version = readVersion(key);
+            AuthenticatedUser remote = version != null ? readRemote(key, version) : null;
+            if (remote != null) {
+                remoteHits.increment();
+                return remote;
+            }
+
+            remoteMisses.increment();
+            AuthenticatedUser loaded = loader.apply(key).withoutPassword();
+            if (version != null) {
+                writeRemote(key, version, loaded);
+            }
+            return loaded;
+        });
+    }
+
+    /**
+     * Drop a user from both cache levels once a security change has been committed.
+     * L2 entries are dropped by bumping their version, which also orphans any entry a concurrent load writes later.
+     *
+     * @param event the security change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        try {
+            for (String login : List.of(event.getUsername(), event.getEmail())) {
+                String versionKey = VERSION_KEY_PREFIX + login;
+                redisTemplate.opsForValue().increment(versionKey);
+                redisTemplate.expire(versionKey, versionTtl());
+            }
+        } catch (DataAccessException e) {
+            remoteErrors.increment();
+            log.warn("Could not evict user {} from Redis", event.getUsername(), e);
+        }
+        evictLocal(event.getUsername(), event.getEmail());
+    }
+
+    /**
+     * Drop a user from the in-process cache only.
+     *
+     * @param username the username
+     * @param email the email
+     */
+    public void evictLocal(String username, String email) {
+        localCache.invalidateAll(List.of(username, email));
+    }
+
+    /**
+     * Read the L2 version of a login. A missing counter reads as 0; it outlives every entry written under it.
+     *
+     * @return the version, or null if Redis is unavailable and L2 must be bypassed
+     */
+    private String readVersion(String login) {
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + login);
+            return version != null ? version : "0";
+        } catch (DataAccessException e) {
+            remoteErrors.increment();
+            log.warn("Could not read the cache version of user {} from Redis", login, e);
+            return null;
+        }
+    }
+
+    private Duration versionTtl() {
+        return Duration.ofMillis(remoteTtl * 2);
+    }
+
+    private AuthenticatedUser readRemote(String login, String version) {
+        try {
+            String json = redisTemplate.opsForValue().get(KEY_PREFIX + login + ":" + version);
+            return json != null ? objectMapper.readValue(json, AuthenticatedUser.class) : null;
+        } catch (DataAccessException | JsonProcessingException e) {
+            remoteErrors.increment();
+            log.warn("Could not read user {} from Redis", login, e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String login, String version, AuthenticatedUser user) {
+        try {
+            redisTemplate.opsForValue().set(KEY_PREFIX + login + ":" + version, objectMapper.writeValueAsString(user), Duration.ofMillis(remoteTtl));
+        } catch (DataAccessException | JsonProcessingException e) {
+            remoteErrors.increment();
+            log.warn("Could not write user {} to Redis", login, e);
+        }
+    }
+}
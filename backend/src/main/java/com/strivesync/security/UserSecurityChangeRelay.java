@@ -0,0 +1,81 @@
+package com.strivesync.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strivesync.service.event.UserSecurityChangedEvent;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/**
+ * Broadcasts committed user security changes to every node over Redis pub/sub,
+ * so each node drops its in-process user cache entry and learns the new security version.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSecurityChangeRelay implements MessageListener {
+
+    private static final ChannelTopic CHANNEL = new ChannelTopic("user-security-changes");
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final UserDetailsCache userDetailsCache;
+    private final SecurityVersionRegistry securityVersionRegistry;
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    @PostConstruct
+    void subscribe() {
+        listenerContainer.addMessageListener(this, CHANNEL);
+    }
+
+    /**
+     * Publish a committed security change to the other nodes.
+     *
+     * @param event the security change event
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        try {
+            String payload = objectMapper.writeValueAsString(new Envelope(
+                    nodeId, event.getUserId(), event.getUsername(), event.getEmail(), event.getSecurityVersion()));
+            redisTemplate.convertAndSend(CHANNEL.getTopic(), payload);
+        } catch (DataAccessException | JsonProcessingException e) {
+            log.warn("Could not broadcast security change for user {}", event.getUsername(), e);
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        try {
+            Envelope envelope = objectMapper.readValue(message.getBody(), Envelope.class);
+            if (nodeId.equals(envelope.origin())) {
+                return;
+            }
+
+            userDetailsCache.evictLocal(envelope.username(), envelope.email());
+            securityVersionRegistry.record(envelope.userId(), envelope.securityVersion());
+        } catch (IOException e) {
+            log.warn("Could not read security change message", e);
+        }
+    }
+
+    /**
+     * Pub/sub message carrying the originating node, so a node ignores its own broadcasts.
+     */
+    record Envelope(String origin, Long userId, String username, String email, long securityVersion) {
+    }
+}
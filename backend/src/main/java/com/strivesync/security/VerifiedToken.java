@@ -0,0 +1,72 @@
+package com.strivesync.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable view of a JWT whose signature has already been verified.
+ * Instances are produced by {@link JwtService#verify(String)} and may be shared between threads.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class VerifiedToken {
+
+    String id;
+    String subject;
+    Instant issuedAt;
+    Instant expiration;
+    Map<String, Object> claims;
+
+    /**
+     * Create a verified token from parsed claims.
+     *
+     * @param claims the verified claims
+     * @return the verified token
+     */
+    static VerifiedToken from(Claims claims) {
+        return new VerifiedToken(
+                claims.getId(),
+                claims.getSubject(),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                Collections.unmodifiableMap(new HashMap<>(claims))
+        );
+    }
+
+    /**
+     * Get a single claim.
+     *
+     * @param name the claim name
+     * @param type the expected type of the claim
+     * @param <T> the type of the claim
+     * @return the claim value, or null if absent
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        return type.cast(claims.get(name));
+    }
+
+    /**
+     * Check if this is a refresh token, which must not be accepted as a bearer token.
+     *
+     * @return true if the token is a refresh token, false otherwise
+     */
+    public boolean isRefreshToken() {
+        return JwtService.TOKEN_TYPE_REFRESH.equals(claims.get(JwtService.CLAIM_TOKEN_TYPE));
+    }
+
+    /**
+     * Check if the token is expired.
+     *
+     * @return true if the token is expired, false otherwise
+     */
+    public boolean isExpired() {
+        return expiration != null && expiration.isBefore(Instant.now());
+    }
+}
@@ -0,0 +1,22 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.response.AgendaResponse;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for users' daily agendas.
+ */
+public interface AgendaService {
+
+    /**
+     * Get the tasks due for a user on a date, across all of the challenges they participate in that run on it.
+     * Recurring tasks are due on the days their recurrence pattern falls on; one-off tasks are due until done
+     * and are left out once completed.
+     *
+     * @param userId the ID of the user
+     * @param date the date
+     * @return the agenda, grouped by challenge, highest points first within a challenge
+     */
+    AgendaResponse getAgenda(Long userId, LocalDate date);
+}
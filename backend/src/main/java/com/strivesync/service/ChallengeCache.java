@@ -0,0 +1,359 @@
+package com.strivesync.service;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strivesync.repository.ChallengeRepository;
+import com.strivesync.service.event.ChallengeChangedEvent;
+import com.strivesync.service.event.ChallengeParticipationChangedEvent;
+import com.strivesync.service.event.ChallengeTaskChangedEvent;
+import com.strivesync.service.event.ChangeType;
+import com.strivesync.service.event.UserIdentityChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache for challenge reads: an in-process Caffeine L1 in front of a shared Redis L2.
+ * <p>
+ * Per-challenge entries are keyed by a version counter kept in Redis; listings are keyed by a generation counter.
+ * A committed change bumps the challenge's version, and the listing generation as well if it can alter listings
+ * (creation, deletion, listed fields, task count, creator name). It is broadcast over pub/sub so every node drops
+ * the challenge's L1 entries, so a load that raced with the change can only write to a key that is no longer read.
+ * Joins and leaves only bump the version: listings show participant counts up to their TTL late rather than
+ * being thrown away on every join. A local load that was still running when its challenge was evicted is dropped
+ * from L1 once it completes, since it may have read the old state. Concurrent misses share one load: within a
+ * node through Caffeine, and across nodes through a short Redis lock that other nodes wait on.
+ * Redis failures degrade to loading from the database.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ChallengeCache implements MessageListener {
+
+    private static final String KEY_PREFIX = "challenge-cache:v2:";
+    private static final String VERSION_KEY_PREFIX = "challenge-cache:version:";
+    private static final String GENERATION_KEY = "challenge-cache:listing-generation";
+    private static final String LOCK_SUFFIX = ":lock";
+    private static final ChannelTopic CHANNEL = new ChannelTopic("challenge-cache-invalidations");
+    private static final Duration VERSION_TTL = Duration.ofDays(1);
+    private static final long LOCK_POLL_MILLIS = 25;
+    private static final String METRIC_NAME = "challenge.cache.remote";
+    private static final int EVICTION_STRIPES = 64;
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ChallengeRepository challengeRepository;
+
+    @Value("${challenge-cache.local.maximum-size:10000}")
+    private long localMaximumSize;
+
+    @Value("${challenge-cache.local.ttl:30000}")
+    private long localTtl;
+
+    @Value("${challenge-cache.lock-timeout:5000}")
+    private long lockTimeout;
+
+    @Value("${challenge-cache.lock-wait:1000}")
+    private long lockWait;
+
+    private Cache<String, Object> localCache;
+    private final AtomicLong listingGeneration = new AtomicLong();
+    private final AtomicLongArray evictions = new AtomicLongArray(EVICTION_STRIPES);
+
+    /**
+     * Names of the views cached per challenge, so a challenge's L1 entries can be removed by key without a scan.
+     */
+    private final Set<String> viewNames = ConcurrentHashMap.newKeySet();
+    private Counter remoteHits;
+    private Counter remoteMisses;
+    private Counter remoteErrors;
+
+    @PostConstruct
+    void init() {
+        localCache = Caffeine.newBuilder()
+                .maximumSize(localMaximumSize)
+                .expireAfterWrite(Duration.ofMillis(localTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "challenges");
+        remoteHits = meterRegistry.counter(METRIC_NAME, "result", "hit");
+        remoteMisses = meterRegistry.counter(METRIC_NAME, "result", "miss");
+        remoteErrors = meterRegistry.counter(METRIC_NAME, "result", "error");
+        listenerContainer.addMessageListener(this, CHANNEL);
+        try {
+            String generation = redisTemplate.opsForValue().get(GENERATION_KEY);
+            listingGeneration.set(generation != null ? Long.parseLong(generation) : 0);
+        } catch (DataAccessException e) {
+            log.warn("Could not read the challenge listing generation, starting from 0", e);
+        }
+    }
+
+    /**
+     * Get a value cached for a challenge, such as its details or tasks.
+     *
+     * @param challengeId the challenge ID
+     * @param name the name of the cached view of the challenge
+     * @param type the type of the value
+     * @param ttl the time to live in Redis
+     * @param loader loads the value on a miss; may return null, which is not cached
+     * @param <T> the type of the value
+     * @return the value
+     */
+    public <T> T getForChallenge(Long challengeId, String name, JavaType type, Duration ttl, Supplier<T> loader) {
+        viewNames.add(name);
+        String localKey = challengeKey(challengeId, name);
+        int stripe = evictionStripe(challengeId);
+        long evictionsBefore = evictions.get(stripe);
+        Object value = localCache.get(localKey, key -> {
+            String remoteKey = key + ":" + readVersion(challengeId);
+            return readThrough(remoteKey, type, ttl, loader);
+        });
+        if (value != null && evictions.get(stripe) != evictionsBefore) {
+            // The challenge was evicted while this value was loading, so it may predate the change
+            localCache.asMap().remove(localKey, value);
+        }
+        return cast(value);
+    }
+
+    /**
+     * Get a cached listing, such as a page of public challenges.
+     *
+     * @param name the name of the listing, including its parameters
+     * @param type the type of the value
+     * @param ttl the time to live in Redis
+     * @param loader loads the value on a miss
+     * @param <T> the type of the value
+     * @return the value
+     */
+    public <T> T getListing(String name, JavaType type, Duration ttl, Supplier<T> loader) {
+        String key = KEY_PREFIX + "listing:" + getListingGeneration() + ":" + name;
+        return cast(localCache.get(key, k -> readThrough(k, type, ttl, loader)));
+    }
+
+    /**
+     * Get the current listing generation. It changes whenever a committed change may affect a listing,
+     * so callers caching derived forms of listings can include it in their keys.
+     *
+     * @return the listing generation
+     */
+    public long getListingGeneration() {
+        return listingGeneration.get();
+    }
+
+    /**
+     * Invalidate a challenge once a change to it has been committed.
+     *
+     * @param event the challenge change event
+     */
+    @EventListener
+    public void onChallengeChanged(ChallengeChangedEvent event) {
+        invalidate(event.getChallengeId(), event.isListingChanged());
+    }
+
+    /**
+     * Invalidate a challenge once a change to one of its tasks has been committed.
+     *
+     * @param event the task change event
+     */
+    @EventListener
+    public void onChallengeTaskChanged(ChallengeTaskChangedEvent event) {
+        // Listings show the task count, which only creating or deleting a task changes
+        invalidate(event.getChallengeId(), event.getChangeType() != ChangeType.UPDATED);
+    }
+
+    /**
+     * Invalidate a challenge once a user joining or leaving it has been committed.
+     *
+     * @param event the participation change event
+     */
+    @EventListener
+    public void onChallengeParticipationChanged(ChallengeParticipationChangedEvent event) {
+        invalidate(event.getChallengeId(), false);
+    }
+
+    /**
+     * Invalidate the challenges created by a user once a change to the user's name has been committed.
+     *
+     * @param event the user identity change event
+     */
+    @EventListener
+    public void onUserIdentityChanged(UserIdentityChangedEvent event) {
+        if (event.getChangeType() == ChangeType.UPDATED) {
+            // Listings show the creator's username
+            challengeRepository.findIdsByCreatorId(event.getUserId()).forEach(id -> invalidate(id, true));
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] payload = new String(message.getBody(), StandardCharsets.UTF_8).split(":", 2);
+        try {
+            evictLocal(Long.parseLong(payload[0]), Long.parseLong(payload[1]));
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            log.warn("Could not read challenge cache invalidation message", e);
+        }
+    }
+
+    /**
+     * Invalidate a challenge on every node.
+     *
+     * @param challengeId the challenge ID
+     * @param listingChanged whether the change can alter listings, which bumps the listing generation
+     */
+    private void invalidate(Long challengeId, boolean listingChanged) {
+        try {
+            String versionKey = VERSION_KEY_PREFIX + challengeId;
+            redisTemplate.opsForValue().increment(versionKey);
+            redisTemplate.expire(versionKey, VERSION_TTL);
+            // Generation 0 in the message leaves every node's listing generation as it is
+            Long generation = listingChanged ? redisTemplate.opsForValue().increment(GENERATION_KEY) : Long.valueOf(0);
+            redisTemplate.convertAndSend(CHANNEL.getTopic(), challengeId + ":" + generation);
+        } catch (DataAccessException e) {
+            remoteErrors.increment();
+            log.warn("Could not invalidate cached challenge {}, entries expire by TTL", challengeId, e);
+            evictLocal(challengeId, listingChanged ? listingGeneration.get() + 1 : 0);
+        }
+    }
+
+    private void evictLocal(Long challengeId, long generation) {
+        // Counted before removing, so a load that completes after the removal sees the change
+        evictions.incrementAndGet(evictionStripe(challengeId));
+        localCache.invalidateAll(viewNames.stream().map(name -> challengeKey(challengeId, name)).toList());
+        listingGeneration.accumulateAndGet(generation, Math::max);
+    }
+
+    private Object readThrough(String remoteKey, JavaType type, Duration ttl, Supplier<?> loader) {
+        Object cached = readRemote(remoteKey, type);
+        if (cached != null) {
+            remoteHits.increment();
+            return cached;
+        }
+        remoteMisses.increment();
+
+        String lockKey = remoteKey + LOCK_SUFFIX;
+        boolean locked = tryLock(lockKey);
+        if (!locked) {
+            // Another node is loading the same entry; wait for it rather than hitting the database as well
+            cached = awaitRemote(remoteKey, type);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        try {
+            Object loaded = loader.get();
+            if (loaded != null) {
+                writeRemote(remoteKey, loaded, ttl);
+            }
+            return loaded;
+        } finally {
+            if (locked) {
+                unlock(lockKey);
+            }
+        }
+    }
+
+    private long readVersion(Long challengeId) {
+        try {
+            String version = redisTemplate.opsForValue().get(VERSION_KEY_PREFIX + challengeId);
+            return version != null ? Long.parseLong(version) : 0;
+        } catch (DataAccessException e) {
+            remoteErrors.increment();
+            return -1;
+        }
+    }
+
+    private boolean tryLock(String lockKey) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                    .setIfAbsent(lockKey, "1", Duration.ofMillis(lockTimeout)));
+        } catch (DataAccessException e) {
+            remoteErrors.increment();
+            return true;
+        }
+    }
+
+    private void unlock(String lockKey) {
+        try {
+            redisTemplate.delete(lockKey);
+        } catch (DataAccessException e) {
+            remoteErrors.increment();
+            log.warn("Could not release cache lock {}, it expires by TTL", lockKey, e);
+        }
+    }
+
+    private Object awaitRemote(String remoteKey, JavaType type) {
+        long deadline = System.currentTimeMillis() + lockWait;
+        while (System.currentTimeMillis() < deadline) {
+            try {
+                Thread.sleep(LOCK_POLL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            Object cached = readRemote(remoteKey, type);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        return null;
+    }
+
+    private Object readRemote(String key, JavaType type) {
+        try {
+            String json = redisTemplate.opsForValue().get(key);
+            return json != null ? objectMapper.readValue(json, type) : null;
+        } catch (DataAccessException | IOException e) {
+            remoteErrors.increment();
+            log.warn("Could not read {} from Redis", key, e);
+            return null;
+        }
+    }
+
+    private void writeRemote(String key, Object value, Duration ttl) {
+        try {
+            redisTemplate.opsForValue().set(key, objectMapper.writeValueAsString(value), ttl);
+        } catch (DataAccessException | IOException e) {
+            remoteErrors.increment();
+            log.warn("Could not write {} to Redis", key, e);
+        }
+    }
+
+    private static int evictionStripe(Long challengeId) {
+        return Math.floorMod(Long.hashCode(challengeId), EVICTION_STRIPES);
+    }
+
+    private static String challengeKey(Long challengeId, String name) {
+        return KEY_PREFIX + "challenge:" + challengeId + ":" + name;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T cast(Object value) {
+        return (T) value;
+    }
+}
@@ -0,0 +1,135 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.response.ChallengeDetailResponse;
+import com.strivesync.api.dto.response.ChallengeSummaryResponse;
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
+import com.strivesync.api.dto.response.CursorPage;
+import com.strivesync.domain.Challenge;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Service interface for challenge read operations.
+ */
+public interface ChallengeService {
+
+    /**
+     * Get a page of challenge summaries.
+     *
+     * @param pageable pagination information
+     * @return a page of challenge summaries
+     */
+    Page<ChallengeSummaryResponse> getChallenges(Pageable pageable);
+
+    /**
+     * Get the details of a challenge, including its tasks. Served from the challenge cache.
+     *
+     * @param id the challenge ID
+     * @return an Optional containing the challenge details if found, or empty if not found
+     */
+    Optional<ChallengeDetailResponse> getChallenge(Long id);
+
+    /**
+     * Search challenges by title or description, best matches first.
+     * Every word of the query must match, as a whole word or a prefix; the sort of the pageable is ignored.
+     * Matches are not counted, as that would rank every match of a broad query: the slice only tells whether
+     * a next page exists.
+     *
+     * @param query the search query
+     * @param pageable pagination information
+     * @return a slice of challenge summaries matching the query
+     */
+    Slice<ChallengeSummaryResponse> searchChallenges(String query, Pageable pageable);
+
+    /**
+     * Get the challenges created by a user.
+     *
+     * @param userId the user ID
+     * @param pageable pagination information
+     * @return a page of challenge summaries
+     */
+    Page<ChallengeSummaryResponse> getChallengesCreatedBy(Long userId, Pageable pageable);
+
+    /**
+     * Get a page of the challenges a user is participating in, newest first.
+     * No total is computed; the sort of the pageable is ignored.
+     *
+     * @param userId the user ID
+     * @param status the status to filter by, or null for all challenges
+     * @param pageable pagination information
+     * @return a slice of challenge summaries
+     */
+    Slice<ChallengeSummaryResponse> getParticipatingChallenges(Long userId, Challenge.ChallengeStatus status, Pageable pageable);
+
+    /**
+     * Get a slice of the challenge feed, newest first.
+     *
+     * @param status the status to filter by, or null for all challenges
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size the maximum number of challenges
+     * @return the slice of challenge summaries
+     */
+    CursorPage<ChallengeSummaryResponse> getChallengeFeed(Challenge.ChallengeStatus status, String cursor, int size);
+
+    /**
+     * Get a page of public active and upcoming challenges, in start date order. Served from the challenge cache.
+     * The sort of the pageable is ignored.
+     *
+     * @param pageable pagination information
+     * @return a page of challenge summaries
+     */
+    Page<ChallengeSummaryResponse> getPublicChallenges(Pageable pageable);
+
+    /**
+     * Get the tasks of a challenge, highest points first. Served from the challenge cache.
+     *
+     * @param challengeId the challenge ID
+     * @return the tasks
+     */
+    List<ChallengeTaskResponse> getTasks(Long challengeId);
+
+    /**
+     * Get the current entity tag of a challenge's details from its update stamps, without loading the challenge.
+     *
+     * @param id the challenge ID
+     * @return an Optional containing the entity tag if the challenge exists, or empty if not found
+     */
+    Optional<String> getChallengeETag(Long id);
+
+    /**
+     * Get the entity tag of loaded challenge details. Equals {@link #getChallengeETag(Long)} while they are current.
+     *
+     * @param challenge the challenge details
+     * @return the entity tag
+     */
+    String getChallengeETag(ChallengeDetailResponse challenge);
+
+    /**
+     * Get the current entity tag of a challenge's tasks from their update stamps, without loading them.
+     *
+     * @param challengeId the challenge ID
+     * @return an Optional containing the entity tag if the challenge exists, or empty if not found
+     */
+    Optional<String> getTasksETag(Long challengeId);
+
+    /**
+     * Get the entity tag of loaded challenge tasks. Equals {@link #getTasksETag(Long)} while they are current.
+     *
+     * @param challengeId the challenge ID
+     * @param tasks the tasks
+     * @return the entity tag
+     */
+    String getTasksETag(Long challengeId, List<ChallengeTaskResponse> tasks);
+
+    /**
+     * Get the entity tag of a page of public challenges.
+     *
+     * @param page the page
+     * @return the entity tag
+     */
+    String getPublicChallengesETag(Page<ChallengeSummaryResponse> page);
+}
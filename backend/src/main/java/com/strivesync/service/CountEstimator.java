@@ -0,0 +1,53 @@
+package com.strivesync.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Cache of listing totals for cursor-paginated endpoints.
+ * Each total is counted at most once per TTL, so deep scrolling never pays for a COUNT query per request.
+ */
+@Component
+@RequiredArgsConstructor
+public class CountEstimator {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${pagination.count-cache.maximum-size:10000}")
+    private long maximumSize;
+
+    @Value("${pagination.count-cache.ttl:60000}")
+    private long ttl;
+
+    private Cache<String, Long> counts;
+
+    @PostConstruct
+    void init() {
+        counts = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(ttl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "listingCounts");
+    }
+
+    /**
+     * Get the cached total for a listing, counting it on a miss.
+     *
+     * @param key identifies the listing and its filters
+     * @param counter counts the listing
+     * @return the approximate total
+     */
+    public long estimate(String key, LongSupplier counter) {
+        return counts.get(key, k -> counter.getAsLong());
+    }
+}
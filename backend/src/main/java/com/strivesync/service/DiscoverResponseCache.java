@@ -0,0 +1,79 @@
+package com.strivesync.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.strivesync.api.dto.response.ChallengeSummaryResponse;
+import com.strivesync.util.SerializedResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Cache of the serialized discover listing, the same for every user.
+ * <p>
+ * Pages are kept as final JSON bytes in identity and gzip encodings, so a hit costs no query, serialization
+ * or compression. Entries are keyed by the {@link ChallengeCache} listing generation, so a committed challenge
+ * change on any node makes them unreachable; otherwise they are refreshed in the background after a short interval
+ * while the previous bytes keep being served.
+ */
+@Component
+@RequiredArgsConstructor
+public class DiscoverResponseCache {
+
+    private final ChallengeService challengeService;
+    private final ChallengeCache challengeCache;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${discover-cache.maximum-size:200}")
+    private long maximumSize;
+
+    @Value("${discover-cache.refresh-interval:30000}")
+    private long refreshInterval;
+
+    private LoadingCache<PageKey, SerializedResponse> responses;
+
+    @PostConstruct
+    void init() {
+        responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .refreshAfterWrite(Duration.ofMillis(refreshInterval))
+                .expireAfterWrite(Duration.ofMillis(refreshInterval * 4))
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, responses, "discoverResponses");
+    }
+
+    /**
+     * Get a serialized page of the discover listing.
+     *
+     * @param pageable pagination information; the sort is ignored
+     * @return the serialized page
+     */
+    public SerializedResponse get(Pageable pageable) {
+        return responses.get(new PageKey(challengeCache.getListingGeneration(), pageable.getPageNumber(), pageable.getPageSize()));
+    }
+
+    private SerializedResponse load(PageKey key) {
+        Page<ChallengeSummaryResponse> page = challengeService.getPublicChallenges(PageRequest.of(key.page(), key.size()));
+        try {
+            return SerializedResponse.of(objectMapper.writeValueAsBytes(page), challengeService.getPublicChallengesETag(page));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private record PageKey(long generation, int page, int size) {
+    }
+}
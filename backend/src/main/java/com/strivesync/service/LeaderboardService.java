@@ -0,0 +1,38 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.response.LeaderboardResponse;
+
+/**
+ * Service interface for challenge leaderboards, ranked by total approved points.
+ */
+public interface LeaderboardService {
+
+    /**
+     * Get the top of a challenge leaderboard, with the current user's position.
+     *
+     * @param challengeId the challenge ID
+     * @param userId the current user's ID
+     * @param limit the maximum number of entries
+     * @return the leaderboard window, highest scores first
+     */
+    LeaderboardResponse getTop(Long challengeId, Long userId, int limit);
+
+    /**
+     * Get the part of a challenge leaderboard around the current user.
+     *
+     * @param challengeId the challenge ID
+     * @param userId the current user's ID
+     * @param radius the number of entries to include above and below the user
+     * @return the leaderboard window, highest scores first; empty if the user has no score
+     */
+    LeaderboardResponse getAround(Long challengeId, Long userId, int radius);
+
+    /**
+     * Rebuild a challenge leaderboard from the database, replacing the current one atomically.
+     * Does nothing if a rebuild of the same leaderboard is already running on any node.
+     *
+     * @param challengeId the challenge ID
+     * @return true if the leaderboard was rebuilt, false if another rebuild was running
+     */
+    boolean rebuild(Long challengeId);
+}
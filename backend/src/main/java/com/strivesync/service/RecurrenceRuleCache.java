@@ -0,0 +1,90 @@
+package com.strivesync.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strivesync.service.event.ChallengeTaskChangedEvent;
+import com.strivesync.service.event.ChangeType;
+import com.strivesync.util.RecurrenceRule;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Cache of compiled recurrence rules per task, so each pattern is parsed once rather than on every read.
+ * <p>
+ * A cached rule remembers the pattern and anchor it was compiled from and is recompiled when either differs,
+ * so edits made on any node take effect without cross-node invalidation. Task patterns are validated when saved;
+ * patterns stored before that which can't be compiled are logged once and never come due, rather than making the
+ * task due every day.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurrenceRuleCache {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${recurrence.cache.maximum-size:50000}")
+    private long maximumSize;
+
+    private Cache<Long, RecurrenceRule> rules;
+
+    @PostConstruct
+    void init() {
+        rules = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, rules, "recurrenceRules");
+    }
+
+    /**
+     * Get the compiled recurrence rule of a task.
+     *
+     * @param taskId the task ID
+     * @param pattern the recurrence pattern of the task
+     * @param anchor the first day the task can recur on, usually the challenge start date
+     * @return the compiled rule
+     */
+    public RecurrenceRule getRule(Long taskId, String pattern, LocalDate anchor) {
+        String source = pattern != null ? pattern : "";
+        RecurrenceRule rule = rules.getIfPresent(taskId);
+        if (rule == null || !rule.isCompiledFrom(source, anchor)) {
+            rule = compile(taskId, source, anchor);
+            rules.put(taskId, rule);
+        }
+        return rule;
+    }
+
+    /**
+     * Drop the rule of a deleted task.
+     *
+     * @param event the task change event
+     */
+    @EventListener
+    public void onChallengeTaskChanged(ChallengeTaskChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            rules.invalidate(event.getTaskId());
+        }
+    }
+
+    private RecurrenceRule compile(Long taskId, String pattern, LocalDate anchor) {
+        if (pattern.isBlank()) {
+            return RecurrenceRule.daily(pattern, anchor);
+        }
+        try {
+            return RecurrenceRule.compile(pattern, anchor);
+        } catch (IllegalArgumentException e) {
+            log.warn("Task {} has an unsupported recurrence pattern '{}', it will never be due: {}",
+                    taskId, pattern, e.getMessage());
+            return RecurrenceRule.never(pattern, anchor);
+        }
+    }
+}
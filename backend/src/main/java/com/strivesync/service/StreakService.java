@@ -0,0 +1,37 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.response.StreakResponse;
+
+import java.time.LocalDate;
+
+/**
+ * Service interface for streak and consistency queries over the days a user had completions approved.
+ */
+public interface StreakService {
+
+    /**
+     * Get a user's streaks in a challenge. A day is due if any recurring task of the challenge falls on it,
+     * or every day the challenge runs if it has no recurring tasks.
+     *
+     * @param userId the ID of the user
+     * @param challengeId the challenge ID
+     * @param from the start of the completion rate window, the challenge start date if null
+     * @param to the end of the completion rate window, today or the challenge end date if null
+     * @return the streaks and completion rate
+     * @throws jakarta.persistence.EntityNotFoundException if the challenge is not found
+     */
+    StreakResponse getChallengeStreak(Long userId, Long challengeId, LocalDate from, LocalDate to);
+
+    /**
+     * Get a user's streaks on a task. Recurring tasks are due on the days their recurrence pattern falls on;
+     * one-off tasks are due once, so their streak is 1 once they have been done and 0 before.
+     *
+     * @param userId the ID of the user
+     * @param taskId the task ID
+     * @param from the start of the completion rate window, the challenge start date if null
+     * @param to the end of the completion rate window, today or the challenge end date if null
+     * @return the streaks and completion rate
+     * @throws jakarta.persistence.EntityNotFoundException if the task is not found
+     */
+    StreakResponse getTaskStreak(Long userId, Long taskId, LocalDate from, LocalDate to);
+}
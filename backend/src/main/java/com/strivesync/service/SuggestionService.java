@@ -0,0 +1,19 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.response.SuggestionsResponse;
+
+/**
+ * Service interface for as-you-type suggestions.
+ */
+public interface SuggestionService {
+
+    /**
+     * Suggest public challenges by title and users by username.
+     * A text matches if any of its words starts with the prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions of each kind
+     * @return the suggestions, most popular first
+     */
+    SuggestionsResponse suggest(String prefix, int limit);
+}
@@ -0,0 +1,62 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.request.CompletionSubmissionRequest;
+import com.strivesync.api.dto.response.CompletionBatchResponse;
+import com.strivesync.api.dto.response.CursorPage;
+import com.strivesync.api.dto.response.TaskCompletionResponse;
+import com.strivesync.domain.TaskCompletion;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Service interface for task completion read operations.
+ */
+public interface TaskCompletionService {
+
+    /**
+     * Get a slice of a user's completions, newest first.
+     *
+     * @param userId the user ID
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size the maximum number of completions
+     * @return the slice of completions
+     */
+    CursorPage<TaskCompletionResponse> getCompletions(Long userId, String cursor, int size);
+
+    /**
+     * Get a slice of the completions with a verification status, oldest first.
+     *
+     * @param status the verification status
+     * @param cursor the cursor returned with the previous slice, or null for the first slice
+     * @param size the maximum number of completions
+     * @return the slice of completions
+     */
+    CursorPage<TaskCompletionResponse> getCompletionsByStatus(TaskCompletion.VerificationStatus status, String cursor, int size);
+
+    /**
+     * Write completions with their task and challenge as newline-delimited JSON, one completion per line.
+     * Rows are streamed from the database as they are written, so memory use is constant.
+     *
+     * @param userId the user whose completions to export, or null for all users
+     * @param from the earliest completion date to include, or null for no lower bound
+     * @param to the completion date to stop before, or null for no upper bound
+     * @param out the stream to write to; it is flushed but not closed
+     * @return the number of completions written
+     * @throws IOException if writing fails, e.g. because the client disconnected
+     */
+    long exportCompletions(Long userId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException;
+
+    /**
+     * Submit several completions for a user at once, e.g. a queue recorded offline.
+     * Each completion is accepted or rejected on its own; resubmitted client keys return the completion
+     * created the first time, so retrying a batch is safe.
+     *
+     * @param userId the ID of the submitting user
+     * @param submissions the completions
+     * @return the outcome of each completion, in submission order
+     */
+    CompletionBatchResponse submitCompletions(Long userId, List<CompletionSubmissionRequest> submissions);
+}
@@ -0,0 +1,31 @@
+package com.strivesync.service;
+
+/**
+ * Service interface for checking whether usernames and emails are still available.
+ */
+public interface UserAvailabilityService {
+
+    /**
+     * Check if a username is available.
+     *
+     * @param username the username to check
+     * @return true if no user has the username, false otherwise
+     */
+    boolean isUsernameAvailable(String username);
+
+    /**
+     * Check if an email is available.
+     *
+     * @param email the email to check
+     * @return true if no user has the email, false otherwise
+     */
+    boolean isEmailAvailable(String email);
+
+    /**
+     * Record that a username and email have been taken.
+     *
+     * @param username the username
+     * @param email the email
+     */
+    void markTaken(String username, String email);
+}
@@ -0,0 +1,31 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.response.UserImportReport;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk importing users.
+ */
+public interface UserImportService {
+
+    /**
+     * Supported input formats.
+     */
+    enum Format {
+        CSV,
+        NDJSON
+    }
+
+    /**
+     * Import users from a stream of rows with username, email, password and full name.
+     * The input is read incrementally and committed in chunks; invalid or conflicting rows are reported
+     * and skipped.
+     *
+     * @param input the input stream
+     * @param format the input format
+     * @param resumeAfter the number of data rows already imported by a previous run, skipped without processing
+     * @return the import report
+     */
+    UserImportReport importUsers(InputStream input, Format format, long resumeAfter);
+}
@@ -4,6 +4,8 @@ import com.strivesync.domain.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.Set;
+
 /**
  * Service interface for user-related operations.
  */
@@ -51,9 +53,45 @@ public interface UserService {
      * @param password the password
      * @param fullName the full name
      * @return the created user
+     * @throws org.springframework.dao.DataIntegrityViolationException if the username or email is already taken
      */
     User createUser(String username, String email, String password, String fullName);
 
+    /**
+     * Replace a user's roles. Tokens issued before the change are no longer accepted.
+     *
+     * @param userId the user ID
+     * @param roles the new roles
+     * @return the updated user
+     */
+    User updateRoles(Long userId, Set<String> roles);
+
+    /**
+     * Change a user's password. Tokens issued before the change are no longer accepted.
+     *
+     * @param userId the user ID
+     * @param newPassword the new raw password
+     * @return the updated user
+     */
+    User updatePassword(Long userId, String newPassword);
+
+    /**
+     * Enable or disable a user. Tokens issued before the change are no longer accepted.
+     *
+     * @param userId the user ID
+     * @param enabled whether the user is enabled
+     * @return the updated user
+     */
+    User setEnabled(Long userId, boolean enabled);
+
+    /**
+     * Revoke every token issued to a user so far by bumping the user's security version.
+     *
+     * @param userId the user ID
+     * @return the updated user
+     */
+    User revokeTokens(Long userId);
+
     /**
      * Load a user by username.
      *
@@ -0,0 +1,46 @@
+package com.strivesync.service;
+
+import com.strivesync.api.dto.request.VerificationDecisionRequest;
+import com.strivesync.api.dto.response.VerificationClaimResponse;
+import com.strivesync.api.dto.response.VerificationDecisionResponse;
+
+import java.util.List;
+
+/**
+ * Service interface for the queue of completions awaiting verification.
+ * Reviewers claim batches of pending completions for a limited time, so concurrent reviewers never get the same work.
+ */
+public interface VerificationQueueService {
+
+    /**
+     * Claim the oldest pending completions that no other reviewer holds.
+     * Completions whose claim has lapsed are delivered again.
+     *
+     * @param reviewerId the ID of the reviewer
+     * @param limit the maximum number of completions
+     * @return the claimed completions, oldest first, with the claim expiry
+     */
+    VerificationClaimResponse claim(Long reviewerId, int limit);
+
+    /**
+     * Hand claimed completions back to the queue without deciding them.
+     *
+     * @param reviewerId the ID of the reviewer
+     * @param completionIds the completion IDs
+     * @return the number of completions released
+     */
+    int release(Long reviewerId, List<Long> completionIds);
+
+    /**
+     * Approve or reject claimed completions with a single statement.
+     * Only pending completions claimed by the reviewer are changed.
+     *
+     * @param reviewerId the ID of the reviewer
+     * @param completionIds the completion IDs
+     * @param decision the decision
+     * @param notes the verification notes, may be null
+     * @return the decided and skipped completions
+     */
+    VerificationDecisionResponse decide(Long reviewerId, List<Long> completionIds,
+                                        VerificationDecisionRequest.Decision decision, String notes);
+}
@@ -0,0 +1,19 @@
+package com.strivesync.service.event;
+
+import lombok.Value;
+
+/**
+ * Event published after a challenge has been created, updated or deleted and the change committed.
+ * Listeners use it to keep derived in-memory state, such as the suggestion index, up to date.
+ * {@code listingChanged} is set when the change can alter challenge listings: creation, deletion,
+ * or a change to a listed field such as the title, status, privacy or dates.
+ */
+@Value
+public class ChallengeChangedEvent {
+
+    Long challengeId;
+    String title;
+    boolean privateChallenge;
+    ChangeType changeType;
+    boolean listingChanged;
+}
@@ -0,0 +1,15 @@
+package com.strivesync.service.event;
+
+import lombok.Value;
+
+/**
+ * Event published after a user has joined or left a challenge and the change committed.
+ * The change type is CREATED for a join and DELETED for a leave.
+ */
+@Value
+public class ChallengeParticipationChangedEvent {
+
+    Long challengeId;
+    Long userId;
+    ChangeType changeType;
+}
@@ -0,0 +1,14 @@
+package com.strivesync.service.event;
+
+import lombok.Value;
+
+/**
+ * Event published after a challenge task has been created, updated or deleted and the change committed.
+ */
+@Value
+public class ChallengeTaskChangedEvent {
+
+    Long taskId;
+    Long challengeId;
+    ChangeType changeType;
+}
@@ -0,0 +1,10 @@
+package com.strivesync.service.event;
+
+/**
+ * Kind of change to an entity.
+ */
+public enum ChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
@@ -0,0 +1,40 @@
+package com.strivesync.service.event;
+
+import com.strivesync.domain.TaskCompletion;
+import lombok.Value;
+
+/**
+ * Event published after a task completion has been created or deleted, or its verification status changed,
+ * and the change committed. A created completion has no previous status and a deleted one has no status.
+ * An update may also lack the previous status when Hibernate didn't have the old state, e.g. for merged
+ * detached entities; listeners must then not assume what it was.
+ */
+@Value
+public class CompletionStatusChangedEvent {
+
+    Long completionId;
+    Long userId;
+    Long taskId;
+    TaskCompletion.VerificationStatus previousStatus;
+    TaskCompletion.VerificationStatus status;
+    ChangeType changeType;
+
+    /**
+     * Check if the status before the change is known.
+     *
+     * @return true unless this is an update whose previous status is missing
+     */
+    public boolean previousStatusKnown() {
+        return changeType != ChangeType.UPDATED || previousStatus != null;
+    }
+
+    /**
+     * Check if the change moved the completion into or out of the approved state.
+     *
+     * @return true if the completion counts towards scores before or after the change, but not both
+     */
+    public boolean approvalChanged() {
+        return (previousStatus == TaskCompletion.VerificationStatus.APPROVED)
+                != (status == TaskCompletion.VerificationStatus.APPROVED);
+    }
+}
@@ -0,0 +1,237 @@
+package com.strivesync.service.event;
+
+import com.strivesync.domain.Challenge;
+import com.strivesync.domain.ChallengeTask;
+import com.strivesync.domain.TaskCompletion;
+import com.strivesync.domain.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEvent;
+import org.hibernate.event.spi.PreCollectionRemoveEventListener;
+import org.hibernate.event.spi.PreCollectionUpdateEvent;
+import org.hibernate.event.spi.PreCollectionUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Hibernate listener that turns committed entity changes into application events.
+ * It runs after the transaction commits, so listeners never see changes that were rolled back,
+ * and it covers every write path that goes through JPA without each service having to publish events.
+ * Writes made with plain JDBC bypass it and are picked up by the periodic rebuilds of derived state.
+ * <p>
+ * Joining and leaving a challenge changes a user's participation collection rather than an entity, so those
+ * changes are read from the collection before it is flushed and published once the transaction commits.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class EntityChangeEventPublisher implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, PreCollectionUpdateEventListener, PreCollectionRemoveEventListener {
+
+    private static final String PARTICIPATION_ROLE = User.class.getName() + ".participatingChallenges";
+    private static final List<String> LISTED_CHALLENGE_PROPERTIES = List.of("title", "status", "isPrivate", "startDate", "endDate");
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof TaskCompletion completion) {
+            publishStatusChange(completion, null, completion.getVerificationStatus(), ChangeType.CREATED);
+            return;
+        }
+        publish(event.getEntity(), ChangeType.CREATED, true);
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof TaskCompletion completion) {
+            if (propertyChanged(event, "verificationStatus")) {
+                publishStatusChange(completion,
+                        (TaskCompletion.VerificationStatus) oldValue(event, "verificationStatus"),
+                        completion.getVerificationStatus(), ChangeType.UPDATED);
+            }
+            return;
+        }
+        if (event.getEntity() instanceof User && !propertyChanged(event, "username") && !propertyChanged(event, "fullName")) {
+            return;
+        }
+        boolean listingChanged = event.getEntity() instanceof Challenge
+                && LISTED_CHALLENGE_PROPERTIES.stream().anyMatch(property -> propertyChanged(event, property));
+        publish(event.getEntity(), ChangeType.UPDATED, listingChanged);
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof TaskCompletion completion) {
+            publishStatusChange(completion, completion.getVerificationStatus(), null, ChangeType.DELETED);
+            return;
+        }
+        publish(event.getEntity(), ChangeType.DELETED, true);
+    }
+
+    @Override
+    public void onPreUpdateCollection(PreCollectionUpdateEvent event) {
+        if (isParticipation(event)) {
+            publishParticipationChanges(event.getAffectedOwnerIdOrNull(), challengeIds(snapshot(event.getCollection())),
+                    challengeIds((Collection<?>) event.getCollection()));
+        }
+    }
+
+    @Override
+    public void onPreRemoveCollection(PreCollectionRemoveEvent event) {
+        // A collection that was never loaded has no snapshot; its challenges pick up the change when their entries expire
+        if (isParticipation(event)) {
+            publishParticipationChanges(event.getAffectedOwnerIdOrNull(), challengeIds(snapshot(event.getCollection())),
+                    Set.of());
+        }
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+        // Nothing was published before the commit, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+        // Nothing was published before the commit, so there is nothing to undo
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+        // Nothing was published before the commit, so there is nothing to undo
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        return Challenge.class.isAssignableFrom(type)
+                || ChallengeTask.class.isAssignableFrom(type)
+                || TaskCompletion.class.isAssignableFrom(type)
+                || User.class.isAssignableFrom(type);
+    }
+
+    private void publish(Object entity, ChangeType changeType, boolean listingChanged) {
+        try {
+            if (entity instanceof Challenge challenge) {
+                eventPublisher.publishEvent(new ChallengeChangedEvent(
+                        challenge.getId(), challenge.getTitle(), challenge.isPrivate(), changeType, listingChanged));
+            } else if (entity instanceof ChallengeTask task) {
+                eventPublisher.publishEvent(new ChallengeTaskChangedEvent(task.getId(), task.getChallenge().getId(), changeType));
+            } else if (entity instanceof User user) {
+                eventPublisher.publishEvent(new UserIdentityChangedEvent(user.getId(), user.getUsername(), changeType));
+            }
+        } catch (RuntimeException e) {
+            // The change is already committed; a failing listener must not surface as a failed request
+            log.warn("Could not publish {} event for {}", changeType, entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    private void publishParticipationChanges(Object userId, Set<Long> before, Set<Long> after) {
+        List<ChallengeParticipationChangedEvent> events = new ArrayList<>();
+        for (Long challengeId : after) {
+            if (!before.contains(challengeId)) {
+                events.add(new ChallengeParticipationChangedEvent(challengeId, (Long) userId, ChangeType.CREATED));
+            }
+        }
+        for (Long challengeId : before) {
+            if (!after.contains(challengeId)) {
+                events.add(new ChallengeParticipationChangedEvent(challengeId, (Long) userId, ChangeType.DELETED));
+            }
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishAll(events);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                publishAll(events);
+            }
+        });
+    }
+
+    private void publishAll(List<ChallengeParticipationChangedEvent> events) {
+        for (ChallengeParticipationChangedEvent event : events) {
+            try {
+                eventPublisher.publishEvent(event);
+            } catch (RuntimeException e) {
+                log.warn("Could not publish participation event for challenge {}", event.getChallengeId(), e);
+            }
+        }
+    }
+
+    private void publishStatusChange(TaskCompletion completion, TaskCompletion.VerificationStatus previousStatus,
+                                     TaskCompletion.VerificationStatus status, ChangeType changeType) {
+        try {
+            // Reading the ids of the lazy user and task doesn't initialize them, so this is safe after the commit
+            eventPublisher.publishEvent(new CompletionStatusChangedEvent(completion.getId(),
+                    completion.getUser().getId(), completion.getTask().getId(), previousStatus, status, changeType));
+        } catch (RuntimeException e) {
+            log.warn("Could not publish status change event for completion {}", completion.getId(), e);
+        }
+    }
+
+    private static boolean isParticipation(AbstractCollectionEvent event) {
+        return PARTICIPATION_ROLE.equals(event.getCollection().getRole());
+    }
+
+    /**
+     * Get the elements a collection had when it was loaded or last flushed.
+     */
+    private static Collection<?> snapshot(PersistentCollection<?> collection) {
+        Serializable snapshot = collection.getStoredSnapshot();
+        if (snapshot instanceof Map<?, ?> map) {
+            return map.keySet();
+        }
+        return snapshot instanceof Collection<?> elements ? elements : List.of();
+    }
+
+    private static Set<Long> challengeIds(Collection<?> challenges) {
+        return challenges.stream()
+                .filter(Challenge.class::isInstance)
+                .map(challenge -> ((Challenge) challenge).getId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static boolean propertyChanged(PostUpdateEvent event, String property) {
+        if (event.getOldState() == null) {
+            return true;
+        }
+        int index = propertyIndex(event, property);
+        return index < 0 || !Objects.equals(event.getOldState()[index], event.getState()[index]);
+    }
+
+    private static Object oldValue(PostUpdateEvent event, String property) {
+        int index = propertyIndex(event, property);
+        return event.getOldState() != null && index >= 0 ? event.getOldState()[index] : null;
+    }
+
+    private static int propertyIndex(PostUpdateEvent event, String property) {
+        return Arrays.asList(event.getPersister().getPropertyNames()).indexOf(property);
+    }
+}
@@ -0,0 +1,14 @@
+package com.strivesync.service.event;
+
+import lombok.Value;
+
+/**
+ * Event published after a user has been created or deleted, or their username or full name changed, and the change committed.
+ */
+@Value
+public class UserIdentityChangedEvent {
+
+    Long userId;
+    String username;
+    ChangeType changeType;
+}
@@ -0,0 +1,16 @@
+package com.strivesync.service.event;
+
+import lombok.Value;
+
+/**
+ * Event published when a user's roles, password hash or enabled flag change.
+ * Listeners use it to drop cached security state for the user.
+ */
+@Value
+public class UserSecurityChangedEvent {
+
+    Long userId;
+    String username;
+    String email;
+    long securityVersion;
+}
@@ -0,0 +1,73 @@
+package com.strivesync.service.impl;
+
+import com.strivesync.api.dto.response.AgendaItemResponse;
+import com.strivesync.api.dto.response.AgendaResponse;
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
+import com.strivesync.repository.ChallengeRepository;
+import com.strivesync.repository.TaskCompletionRepository;
+import com.strivesync.repository.projection.ChallengeScheduleView;
+import com.strivesync.service.AgendaService;
+import com.strivesync.service.ChallengeService;
+import com.strivesync.service.RecurrenceRuleCache;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of the AgendaService interface.
+ * <p>
+ * An agenda costs two queries whatever the number of challenges: one for the user's running challenges and
+ * one for which due tasks are already done. Tasks come from the challenge cache and recurrence patterns are
+ * compiled once per task, so checking whether a task is due is a few arithmetic operations.
+ */
+@Service
+@RequiredArgsConstructor
+public class AgendaServiceImpl implements AgendaService {
+
+    private final ChallengeRepository challengeRepository;
+    private final TaskCompletionRepository taskCompletionRepository;
+    private final ChallengeService challengeService;
+    private final RecurrenceRuleCache recurrenceRuleCache;
+
+    @Override
+    public AgendaResponse getAgenda(Long userId, LocalDate date) {
+        long epochDay = date.toEpochDay();
+        List<AgendaItemResponse> items = new ArrayList<>();
+        List<Long> taskIds = new ArrayList<>();
+        for (ChallengeScheduleView challenge : challengeRepository.findSchedulesByParticipantOn(userId, date)) {
+            LocalDate anchor = challenge.getStartDate() != null ? challenge.getStartDate() : LocalDate.EPOCH;
+            for (ChallengeTaskResponse task : challengeService.getTasks(challenge.getId())) {
+                boolean recurring = Boolean.TRUE.equals(task.getRecurring());
+                if (recurring && !recurrenceRuleCache.getRule(task.getId(), task.getRecurrencePattern(), anchor)
+                        .isDueOn(epochDay)) {
+                    continue;
+                }
+                items.add(new AgendaItemResponse(challenge.getId(), challenge.getTitle(), task.getId(), task.getTitle(),
+                        task.getPoints(), recurring, task.getRecurrencePattern(), false));
+                taskIds.add(task.getId());
+            }
+        }
+        if (items.isEmpty()) {
+            return new AgendaResponse(date, items);
+        }
+
+        Set<Long> done = new HashSet<>(taskCompletionRepository.findDoneTaskIds(
+                userId, taskIds, date.atStartOfDay(), date.plusDays(1).atStartOfDay()));
+        List<AgendaItemResponse> agenda = new ArrayList<>(items.size());
+        for (AgendaItemResponse item : items) {
+            if (done.contains(item.getTaskId())) {
+                if (!item.isRecurring()) {
+                    continue;
+                }
+                item.setCompleted(true);
+            }
+            agenda.add(item);
+        }
+        return new AgendaResponse(date, agenda);
+    }
+}
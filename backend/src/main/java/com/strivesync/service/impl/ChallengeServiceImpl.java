@@ -0,0 +1,238 @@
+package com.strivesync.service.impl;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strivesync.api.dto.response.ChallengeDetailResponse;
+import com.strivesync.api.dto.response.ChallengeSummaryResponse;
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
+import com.strivesync.api.dto.response.CursorPage;
+import com.strivesync.domain.Challenge;
+import com.strivesync.repository.ChallengeRepository;
+import com.strivesync.repository.ChallengeTaskRepository;
+import com.strivesync.service.ChallengeCache;
+import com.strivesync.service.ChallengeService;
+import com.strivesync.service.CountEstimator;
+import com.strivesync.util.Cursor;
+import com.strivesync.util.ETags;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Implementation of the ChallengeService interface.
+ * Reads go through DTO projections, so no entities are loaded and no lazy associations are touched.
+ * The hottest reads are served from {@link ChallengeCache} and don't open a transaction unless they miss.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class ChallengeServiceImpl implements ChallengeService {
+
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_SEARCH_TERMS = 8;
+    private static final List<Challenge.ChallengeStatus> PUBLIC_STATUSES =
+            List.of(Challenge.ChallengeStatus.ACTIVE, Challenge.ChallengeStatus.UPCOMING);
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeTaskRepository challengeTaskRepository;
+    private final CountEstimator countEstimator;
+    private final ChallengeCache challengeCache;
+    private final ObjectMapper objectMapper;
+
+    @Value("${challenge-cache.detail-ttl:600000}")
+    private long detailTtl;
+
+    @Value("${challenge-cache.tasks-ttl:600000}")
+    private long tasksTtl;
+
+    @Value("${challenge-cache.listing-ttl:60000}")
+    private long listingTtl;
+
+    @Override
+    public Page<ChallengeSummaryResponse> getChallenges(Pageable pageable) {
+        return challengeRepository.findSummaries(pageable);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Optional<ChallengeDetailResponse> getChallenge(Long id) {
+        JavaType type = objectMapper.constructType(ChallengeDetailResponse.class);
+        return Optional.ofNullable(challengeCache.getForChallenge(id, "detail", type, Duration.ofMillis(detailTtl),
+                () -> challengeRepository.findDetailById(id)
+                        .map(challenge -> {
+                            challenge.setTasks(challengeTaskRepository.findResponsesByChallengeId(id));
+                            return challenge;
+                        })
+                        .orElse(null)));
+    }
+
+    @Override
+    public Slice<ChallengeSummaryResponse> searchChallenges(String query, Pageable pageable) {
+        String tsQuery = toPrefixTsQuery(query);
+        if (tsQuery == null) {
+            return new SliceImpl<>(List.of(), pageable, false);
+        }
+
+        // One ID beyond the page tells whether there is a next page
+        List<Long> matches = challengeRepository.searchRankedIds(tsQuery, pageable.getPageSize() + 1, pageable.getOffset());
+        boolean hasNext = matches.size() > pageable.getPageSize();
+        List<Long> ids = hasNext ? matches.subList(0, pageable.getPageSize()) : matches;
+        Map<Long, ChallengeSummaryResponse> summaries = ids.isEmpty() ? Map.of() : challengeRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(ChallengeSummaryResponse::getId, Function.identity()));
+        List<ChallengeSummaryResponse> ranked = ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new SliceImpl<>(ranked, pageable, hasNext);
+    }
+
+    @Override
+    public Page<ChallengeSummaryResponse> getChallengesCreatedBy(Long userId, Pageable pageable) {
+        return challengeRepository.findSummariesByCreator(userId, pageable);
+    }
+
+    @Override
+    public Slice<ChallengeSummaryResponse> getParticipatingChallenges(Long userId, Challenge.ChallengeStatus status, Pageable pageable) {
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        return status == null
+                ? challengeRepository.findSummariesByParticipant(userId, unsorted)
+                : challengeRepository.findSummariesByParticipantAndStatus(userId, status, unsorted);
+    }
+
+    @Override
+    public CursorPage<ChallengeSummaryResponse> getChallengeFeed(Challenge.ChallengeStatus status, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        Cursor position = cursor != null ? Cursor.decode(cursor) : null;
+        List<ChallengeSummaryResponse> rows;
+        long total;
+        if (status == null) {
+            rows = position == null
+                    ? challengeRepository.findFeed(limit)
+                    : challengeRepository.findFeedAfter(position.key(), position.id(), limit);
+            total = countEstimator.estimate("challenges", challengeRepository::count);
+        } else {
+            rows = position == null
+                    ? challengeRepository.findFeedByStatus(status, limit)
+                    : challengeRepository.findFeedByStatusAfter(status, position.key(), position.id(), limit);
+            total = countEstimator.estimate("challenges:status:" + status, () -> challengeRepository.countByStatus(status));
+        }
+        return CursorPage.of(rows, size, challenge -> new Cursor(challenge.getCreatedAt(), challenge.getId()), total);
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Page<ChallengeSummaryResponse> getPublicChallenges(Pageable pageable) {
+        Pageable unsorted = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize());
+        JavaType type = objectMapper.constructType(CachedPage.class);
+        CachedPage cached = challengeCache.getListing("public:" + unsorted.getPageNumber() + ":" + unsorted.getPageSize(),
+                type, Duration.ofMillis(listingTtl), () -> {
+                    Page<ChallengeSummaryResponse> page = challengeRepository.findPublicSummaries(PUBLIC_STATUSES, unsorted);
+                    return new CachedPage(page.getContent(), page.getTotalElements());
+                });
+        return new PageImpl<>(cached.content(), unsorted, cached.total());
+    }
+
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public List<ChallengeTaskResponse> getTasks(Long challengeId) {
+        JavaType type = objectMapper.getTypeFactory().constructCollectionType(List.class, ChallengeTaskResponse.class);
+        return challengeCache.getForChallenge(challengeId, "tasks", type, Duration.ofMillis(tasksTtl),
+                () -> challengeTaskRepository.findResponsesByChallengeIdOrderByPointsDesc(challengeId));
+    }
+
+    @Override
+    public Optional<String> getChallengeETag(Long id) {
+        return challengeRepository.findStampById(id)
+                .map(stamp -> challengeTag(id, stamp.getUpdatedAt(), stamp.getTasksUpdatedAt(),
+                        stamp.getTaskCount(), stamp.getParticipantCount()));
+    }
+
+    @Override
+    public String getChallengeETag(ChallengeDetailResponse challenge) {
+        long participantCount = challenge.getParticipantCount() != null ? challenge.getParticipantCount() : 0;
+        return challengeTag(challenge.getId(), challenge.getUpdatedAt(), latestUpdate(challenge.getTasks()),
+                challenge.getTasks().size(), participantCount);
+    }
+
+    @Override
+    public Optional<String> getTasksETag(Long challengeId) {
+        return challengeRepository.findStampById(challengeId)
+                .map(stamp -> tasksTag(challengeId, stamp.getTasksUpdatedAt(), stamp.getTaskCount()));
+    }
+
+    @Override
+    public String getTasksETag(Long challengeId, List<ChallengeTaskResponse> tasks) {
+        return tasksTag(challengeId, latestUpdate(tasks), tasks.size());
+    }
+
+    @Override
+    public String getPublicChallengesETag(Page<ChallengeSummaryResponse> page) {
+        // Listings have no single update stamp; the page is already in memory, so tag its content
+        return ETags.of("discover", page.getNumber(), page.getSize(), page.getTotalElements(), page.getContent());
+    }
+
+    /**
+     * Tag a version of a challenge's details. Deleted tasks and joins don't move any update stamp,
+     * so the task and participant counts are part of the tag.
+     */
+    private static String challengeTag(Long id, LocalDateTime updatedAt, LocalDateTime tasksUpdatedAt,
+                                       long taskCount, long participantCount) {
+        return ETags.of("challenge", id, updatedAt, tasksUpdatedAt, taskCount, participantCount);
+    }
+
+    private static String tasksTag(Long challengeId, LocalDateTime tasksUpdatedAt, long taskCount) {
+        return ETags.of("tasks", challengeId, tasksUpdatedAt, taskCount);
+    }
+
+    private static LocalDateTime latestUpdate(List<ChallengeTaskResponse> tasks) {
+        return tasks.stream()
+                .map(ChallengeTaskResponse::getUpdatedAt)
+                .filter(Objects::nonNull)
+                .max(Comparator.naturalOrder())
+                .orElse(null);
+    }
+
+    /**
+     * Turn free text into a to_tsquery expression that requires every word, each as a prefix,
+     * so partially typed words still match. Operators and punctuation in the input are dropped.
+     *
+     * @param query the free-text query
+     * @return the tsquery expression, or null if the query has no searchable words
+     */
+    private static String toPrefixTsQuery(String query) {
+        String expression = Arrays.stream(NON_WORD.split(query.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_SEARCH_TERMS)
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(" & "));
+        return expression.isEmpty() ? null : expression;
+    }
+
+    /**
+     * Cached form of a page; {@link Page} implementations can't be read back from JSON.
+     */
+    record CachedPage(List<ChallengeSummaryResponse> content, long total) {
+    }
+}
@@ -0,0 +1,488 @@
+package com.strivesync.service.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strivesync.api.dto.response.LeaderboardEntryResponse;
+import com.strivesync.api.dto.response.LeaderboardResponse;
+import com.strivesync.repository.ChallengeTaskRepository;
+import com.strivesync.repository.TaskCompletionRepository;
+import com.strivesync.repository.UserRepository;
+import com.strivesync.repository.projection.TaskPointsView;
+import com.strivesync.repository.projection.UserScoreView;
+import com.strivesync.repository.projection.UsernameView;
+import com.strivesync.service.LeaderboardService;
+import com.strivesync.service.event.ChallengeChangedEvent;
+import com.strivesync.service.event.ChallengeTaskChangedEvent;
+import com.strivesync.service.event.ChangeType;
+import com.strivesync.service.event.CompletionStatusChangedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations.TypedTuple;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the LeaderboardService interface.
+ * <p>
+ * Each challenge has a Redis sorted set of user ids scored by total approved points, so top-N, rank and
+ * around-me reads are O(log n) however many users take part. A committed completion status change sets
+ * the user's score to their total recomputed from the database, off the request thread, so applying an
+ * update late or twice can't skew it. Changes that affect many users, such as a task's points changing,
+ * mark the challenge for a rebuild from the database. A nightly job rebuilds every leaderboard.
+ * <p>
+ * A rebuild fills a temporary key and renames it over the live one. Users whose scores change while it
+ * runs are recorded in Redis and recomputed afterwards, so the rebuilt leaderboard doesn't lose them.
+ * A leaderboard read before it was ever built is built in the background while the read is served from
+ * whatever the sorted set holds. Both background queues are bounded; work they can't take marks the
+ * challenge stale, so the periodic rebuild picks it up.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LeaderboardServiceImpl implements LeaderboardService {
+
+    private static final String KEY_PREFIX = "leaderboard:";
+    private static final String BUILT_SUFFIX = ":built";
+    private static final String LOCK_SUFFIX = ":rebuild-lock";
+    private static final String TOUCHED_SUFFIX = ":touched";
+    private static final String REBUILD_SUFFIX = ":rebuild";
+    private static final String FULL_REBUILD_LOCK = KEY_PREFIX + "full-rebuild-lock";
+    private static final int WRITE_BATCH = 1000;
+    private static final int MAX_CATCH_UP_ROUNDS = 5;
+
+    /**
+     * Set a user's score to a recomputed total, dropping users without points.
+     * While a rebuild is running the user is recorded, so the rebuild recomputes them afterwards.
+     */
+    private static final RedisScript<String> SET_SCRIPT = new DefaultRedisScript<>(
+            "if tonumber(ARGV[1]) > 0 then redis.call('ZADD', KEYS[1], ARGV[1], ARGV[2]) "
+                    + "else redis.call('ZREM', KEYS[1], ARGV[2]) end "
+                    + "if redis.call('EXISTS', KEYS[2]) == 1 then redis.call('SADD', KEYS[3], ARGV[2]) end "
+                    + "return ARGV[1]",
+            String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final TaskCompletionRepository taskCompletionRepository;
+    private final ChallengeTaskRepository challengeTaskRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${leaderboard.rebuild-lock-timeout:300000}")
+    private long rebuildLockTimeout;
+
+    @Value("${leaderboard.full-rebuild-lock-timeout:3600000}")
+    private long fullRebuildLockTimeout;
+
+    @Value("${leaderboard.task-cache-size:10000}")
+    private long taskCacheSize;
+
+    @Value("${leaderboard.updater-queue-capacity:10000}")
+    private int updaterQueueCapacity;
+
+    @Value("${leaderboard.build-queue-capacity:100}")
+    private int buildQueueCapacity;
+
+    private TransactionTemplate readOnlyTransaction;
+    private Cache<Long, Long> taskChallenges;
+    private ThreadPoolExecutor updater;
+    private ThreadPoolExecutor builder;
+
+    /**
+     * Challenges whose first build has been queued on this node, so concurrent readers queue it once.
+     */
+    private final Set<Long> pendingBuilds = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Challenges whose leaderboards must be rebuilt because a change couldn't be applied.
+     */
+    private final Set<Long> staleChallenges = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        readOnlyTransaction.setReadOnly(true);
+        taskChallenges = Caffeine.newBuilder().maximumSize(taskCacheSize).build();
+        // One thread keeps the updates of this node in commit order
+        updater = boundedSingleThread("leaderboard-updater-", updaterQueueCapacity, (task, executor) -> {
+            Long taskId = ((StatusUpdate) task).event.getTaskId();
+            try {
+                Long challengeId = taskChallengeId(taskId);
+                if (challengeId != null) {
+                    staleChallenges.add(challengeId);
+                }
+                log.warn("Leaderboard update queue is full, challenge {} will be rebuilt", challengeId);
+            } catch (RuntimeException e) {
+                log.warn("Leaderboard update queue is full and task {} could not be looked up, "
+                        + "the nightly rebuild will correct its challenge", taskId, e);
+            }
+        });
+        builder = boundedSingleThread("leaderboard-builder-", buildQueueCapacity, (task, executor) -> {
+            Long challengeId = ((FirstBuild) task).challengeId();
+            pendingBuilds.remove(challengeId);
+            staleChallenges.add(challengeId);
+            log.warn("Leaderboard build queue is full, challenge {} will be rebuilt", challengeId);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        updater.shutdown();
+        builder.shutdown();
+    }
+
+    @Override
+    public LeaderboardResponse getTop(Long challengeId, Long userId, int limit) {
+        ensureBuilt(challengeId);
+        String key = key(challengeId);
+        Set<TypedTuple<String>> top = redisTemplate.opsForZSet().reverseRangeWithScores(key, 0, limit - 1L);
+        return response(challengeId, key, top, 0, userId);
+    }
+
+    @Override
+    public LeaderboardResponse getAround(Long challengeId, Long userId, int radius) {
+        ensureBuilt(challengeId);
+        String key = key(challengeId);
+        Long rank = redisTemplate.opsForZSet().reverseRank(key, userId.toString());
+        if (rank == null) {
+            return response(challengeId, key, Set.of(), 0, userId);
+        }
+        long start = Math.max(0, rank - radius);
+        Set<TypedTuple<String>> window = redisTemplate.opsForZSet().reverseRangeWithScores(key, start, rank + radius);
+        return response(challengeId, key, window, start, userId);
+    }
+
+    @Override
+    public boolean rebuild(Long challengeId) {
+        String key = key(challengeId);
+        String lockKey = key + LOCK_SUFFIX;
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(lockKey, "1", Duration.ofMillis(rebuildLockTimeout)))) {
+            return false;
+        }
+        try {
+            String rebuildKey = key + REBUILD_SUFFIX;
+            redisTemplate.delete(rebuildKey);
+            long users = readOnlyTransaction.execute(status -> {
+                try (Stream<UserScoreView> scores = taskCompletionRepository.streamApprovedScores(challengeId)) {
+                    return writeScores(rebuildKey, scores);
+                }
+            });
+            if (users > 0) {
+                redisTemplate.rename(rebuildKey, key);
+            } else {
+                redisTemplate.delete(key);
+            }
+            redisTemplate.opsForValue().set(key + BUILT_SUFFIX, "1");
+            catchUp(challengeId);
+            log.info("Rebuilt leaderboard of challenge {} with {} users", challengeId, users);
+            return true;
+        } finally {
+            redisTemplate.delete(lockKey);
+        }
+    }
+
+    /**
+     * Apply a committed completion status change to the leaderboard of its challenge.
+     * Runs on the updater thread, so the request that made the change doesn't wait for it.
+     *
+     * @param event the completion status change event
+     */
+    @EventListener
+    public void onCompletionStatusChanged(CompletionStatusChangedEvent event) {
+        if (event.previousStatusKnown() && !event.approvalChanged()) {
+            return;
+        }
+        updater.execute(new StatusUpdate(event));
+    }
+
+    /**
+     * Track task changes: a task's points may have changed, which changes the score of every user who completed it.
+     *
+     * @param event the task change event
+     */
+    @EventListener
+    public void onChallengeTaskChanged(ChallengeTaskChangedEvent event) {
+        taskChallenges.invalidate(event.getTaskId());
+        if (event.getChangeType() != ChangeType.CREATED) {
+            staleChallenges.add(event.getChallengeId());
+        }
+    }
+
+    /**
+     * Drop the leaderboard of a deleted challenge.
+     *
+     * @param event the challenge change event
+     */
+    @EventListener
+    public void onChallengeChanged(ChallengeChangedEvent event) {
+        if (event.getChangeType() != ChangeType.DELETED) {
+            return;
+        }
+        String key = key(event.getChallengeId());
+        try {
+            redisTemplate.delete(List.of(key, key + BUILT_SUFFIX, key + TOUCHED_SUFFIX));
+        } catch (DataAccessException e) {
+            log.warn("Could not drop the leaderboard of deleted challenge {}", event.getChallengeId(), e);
+        }
+    }
+
+    /**
+     * Rebuild the leaderboards marked stale since the last run.
+     */
+    @Scheduled(fixedDelayString = "${leaderboard.stale-rebuild-interval:60000}",
+            initialDelayString = "${leaderboard.stale-rebuild-interval:60000}")
+    public void rebuildStale() {
+        for (Long challengeId : Set.copyOf(staleChallenges)) {
+            staleChallenges.remove(challengeId);
+            try {
+                if (!rebuild(challengeId)) {
+                    staleChallenges.add(challengeId);
+                }
+            } catch (RuntimeException e) {
+                staleChallenges.add(challengeId);
+                log.warn("Could not rebuild the leaderboard of challenge {}, retrying later", challengeId, e);
+            }
+        }
+    }
+
+    /**
+     * Rebuild every leaderboard from the database, to recover from lost updates or a flushed Redis.
+     * Only one node runs it per lock period.
+     */
+    @Scheduled(cron = "${leaderboard.full-rebuild-cron:0 30 3 * * *}")
+    public void rebuildAll() {
+        if (!Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(FULL_REBUILD_LOCK, "1", Duration.ofMillis(fullRebuildLockTimeout)))) {
+            return;
+        }
+        List<Long> challengeIds = readOnlyTransaction.execute(
+                status -> taskCompletionRepository.findChallengeIdsWithApprovedCompletions());
+        int rebuilt = 0;
+        for (Long challengeId : challengeIds) {
+            try {
+                if (rebuild(challengeId)) {
+                    rebuilt++;
+                }
+            } catch (RuntimeException e) {
+                log.warn("Could not rebuild the leaderboard of challenge {}", challengeId, e);
+            }
+        }
+        log.info("Rebuilt {} of {} leaderboards", rebuilt, challengeIds.size());
+    }
+
+    private void applyStatusChange(CompletionStatusChangedEvent event) {
+        Long challengeId;
+        try {
+            challengeId = taskChallengeId(event.getTaskId());
+        } catch (RuntimeException e) {
+            log.warn("Could not look up task {} for completion {}", event.getTaskId(), event.getCompletionId(), e);
+            return;
+        }
+        if (challengeId == null) {
+            // The task is gone; its deletion marked the challenge for a rebuild
+            return;
+        }
+        String key = key(challengeId);
+        List<String> keys = List.of(key, key + LOCK_SUFFIX, key + TOUCHED_SUFFIX);
+        try {
+            // The total is read after the change committed, so the score it sets includes it
+            Integer total = readOnlyTransaction.execute(
+                    status -> taskCompletionRepository.getTotalPointsForUserInChallenge(event.getUserId(), challengeId));
+            redisTemplate.execute(SET_SCRIPT, keys, String.valueOf(total != null ? total : 0), event.getUserId().toString());
+        } catch (RuntimeException e) {
+            staleChallenges.add(challengeId);
+            log.warn("Could not update the leaderboard of challenge {}, rebuilding it later", challengeId, e);
+        }
+    }
+
+    private Long taskChallengeId(Long taskId) {
+        return taskChallenges.get(taskId, id -> challengeTaskRepository.findPointsById(id)
+                .map(TaskPointsView::getChallengeId)
+                .orElse(null));
+    }
+
+    /**
+     * Recompute the users whose scores changed while the rebuild was reading, until none are left.
+     */
+    private void catchUp(Long challengeId) {
+        String key = key(challengeId);
+        String touchedKey = key + TOUCHED_SUFFIX;
+        for (int round = 0; round < MAX_CATCH_UP_ROUNDS; round++) {
+            List<String> touched = redisTemplate.opsForSet().pop(touchedKey, WRITE_BATCH);
+            if (touched == null || touched.isEmpty()) {
+                return;
+            }
+            Set<Long> userIds = touched.stream().map(Long::valueOf).collect(Collectors.toSet());
+            List<UserScoreView> scores = readOnlyTransaction.execute(
+                    status -> taskCompletionRepository.findApprovedScores(challengeId, userIds));
+            Set<String> withoutScore = new HashSet<>(touched);
+            Set<TypedTuple<String>> tuples = new HashSet<>();
+            for (UserScoreView score : scores) {
+                String member = score.getUserId().toString();
+                withoutScore.remove(member);
+                tuples.add(TypedTuple.of(member, score.getScore().doubleValue()));
+            }
+            if (!tuples.isEmpty()) {
+                redisTemplate.opsForZSet().add(key, tuples);
+            }
+            if (!withoutScore.isEmpty()) {
+                redisTemplate.opsForZSet().remove(key, withoutScore.toArray());
+            }
+        }
+        // Still changing after several rounds; the next rebuild settles it
+        staleChallenges.add(challengeId);
+    }
+
+    private long writeScores(String key, Stream<UserScoreView> scores) {
+        long users = 0;
+        Set<TypedTuple<String>> batch = new HashSet<>(WRITE_BATCH * 2);
+        for (UserScoreView score : (Iterable<UserScoreView>) scores::iterator) {
+            batch.add(TypedTuple.of(score.getUserId().toString(), score.getScore().doubleValue()));
+            if (batch.size() == WRITE_BATCH) {
+                redisTemplate.opsForZSet().add(key, batch);
+                users += batch.size();
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            redisTemplate.opsForZSet().add(key, batch);
+            users += batch.size();
+        }
+        return users;
+    }
+
+    /**
+     * Queue the build of a leaderboard the first time it is read, e.g. after Redis lost its data.
+     * The read doesn't wait: it is served from whatever the sorted set holds, which is empty or partial
+     * until the build renames its result into place. The rebuild lock keeps other nodes from building it too.
+     */
+    private void ensureBuilt(Long challengeId) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(key(challengeId) + BUILT_SUFFIX))
+                || !pendingBuilds.add(challengeId)) {
+            return;
+        }
+        builder.execute(new FirstBuild(challengeId));
+    }
+
+    private ThreadPoolExecutor boundedSingleThread(String threadNamePrefix, int queueCapacity,
+                                                   RejectedExecutionHandler rejectionHandler) {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory(threadNamePrefix),
+                rejectionHandler
+        );
+    }
+
+    private LeaderboardResponse response(Long challengeId, String key, Set<TypedTuple<String>> window,
+                                         long firstRank, Long userId) {
+        Set<Long> userIds = new HashSet<>();
+        window.forEach(tuple -> userIds.add(Long.valueOf(tuple.getValue())));
+        userIds.add(userId);
+        Map<Long, String> usernames = userRepository.findUsernamesByIdIn(userIds).stream()
+                .collect(Collectors.toMap(UsernameView::getId, UsernameView::getUsername));
+
+        List<LeaderboardEntryResponse> entries = new ArrayList<>(window.size());
+        long rank = firstRank;
+        for (TypedTuple<String> tuple : window) {
+            Long id = Long.valueOf(tuple.getValue());
+            entries.add(new LeaderboardEntryResponse(++rank, id, usernames.get(id), score(tuple.getScore())));
+        }
+
+        LeaderboardEntryResponse me = entries.stream()
+                .filter(entry -> entry.getUserId().equals(userId))
+                .findFirst()
+                .orElseGet(() -> entryOf(key, userId, usernames.get(userId)));
+        Long rankedUsers = redisTemplate.opsForZSet().zCard(key);
+        return new LeaderboardResponse(challengeId, rankedUsers != null ? rankedUsers : 0, entries, me);
+    }
+
+    private LeaderboardEntryResponse entryOf(String key, Long userId, String username) {
+        Long rank = redisTemplate.opsForZSet().reverseRank(key, userId.toString());
+        Double score = redisTemplate.opsForZSet().score(key, userId.toString());
+        if (rank == null || score == null) {
+            return null;
+        }
+        return new LeaderboardEntryResponse(rank + 1, userId, username, score(score));
+    }
+
+    private static long score(Double score) {
+        return score != null ? Math.round(score) : 0;
+    }
+
+    private static String key(Long challengeId) {
+        return KEY_PREFIX + challengeId;
+    }
+
+    /**
+     * A completion status change waiting for the updater.
+     */
+    private final class StatusUpdate implements Runnable {
+
+        private final CompletionStatusChangedEvent event;
+
+        private StatusUpdate(CompletionStatusChangedEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void run() {
+            applyStatusChange(event);
+        }
+    }
+
+    /**
+     * The first build of a leaderboard, waiting for the builder.
+     */
+    private final class FirstBuild implements Runnable {
+
+        private final Long challengeId;
+
+        private FirstBuild(Long challengeId) {
+            this.challengeId = challengeId;
+        }
+
+        private Long challengeId() {
+            return challengeId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                rebuild(challengeId);
+            } catch (RuntimeException e) {
+                staleChallenges.add(challengeId);
+                log.warn("Could not build the leaderboard of challenge {}, retrying later", challengeId, e);
+            } finally {
+                pendingBuilds.remove(challengeId);
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.strivesync.service.impl;
+
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
+import com.strivesync.api.dto.response.StreakResponse;
+import com.strivesync.domain.TaskCompletion;
+import com.strivesync.repository.ChallengeRepository;
+import com.strivesync.repository.ChallengeTaskRepository;
+import com.strivesync.repository.projection.ChallengeScheduleView;
+import com.strivesync.repository.projection.TaskScheduleView;
+import com.strivesync.service.ChallengeService;
+import com.strivesync.service.RecurrenceRuleCache;
+import com.strivesync.service.StreakService;
+import com.strivesync.service.event.ChallengeChangedEvent;
+import com.strivesync.service.event.ChallengeTaskChangedEvent;
+import com.strivesync.service.event.ChangeType;
+import com.strivesync.service.event.CompletionStatusChangedEvent;
+import com.strivesync.util.DayBitmaps;
+import com.strivesync.util.RecurrenceRule;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Implementation of the StreakService interface.
+ * <p>
+ * The days a user had completions approved are kept per (user, task) and per (user, challenge) as Roaring bitmaps
+ * in the completion_day_bitmaps table, so a streak query reads one row and answers with bitmap operations instead
+ * of scanning the user's completion history. Approvals add their day to both bitmaps; anything that may remove
+ * a day rebuilds the affected bitmaps from the database. Writers of a bitmap are serialized with a transaction-level
+ * advisory lock on (user, scope, scope id) rather than a row lock, so the first build of a row that doesn't exist
+ * yet is serialized too. Rows are derived data: a missing row is rebuilt on first read, so dropping rows is always
+ * a safe way to recover, and it is what happens to updates the bounded update queue can't take.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class StreakServiceImpl implements StreakService {
+
+    private static final String SELECT_SQL =
+            "SELECT days FROM completion_day_bitmaps WHERE user_id = ? AND scope = ? AND scope_id = ?";
+    private static final String LOCK_SQL = "SELECT pg_advisory_xact_lock(hashtextextended(?, 0))";
+    private static final String UPSERT_SQL =
+            "INSERT INTO completion_day_bitmaps (user_id, scope, scope_id, days, updated_at) VALUES (?, ?, ?, ?, now()) "
+                    + "ON CONFLICT (user_id, scope, scope_id) DO UPDATE SET days = EXCLUDED.days, updated_at = now()";
+    private static final String INSERT_SQL =
+            "INSERT INTO completion_day_bitmaps (user_id, scope, scope_id, days, updated_at) VALUES (?, ?, ?, ?, now()) "
+                    + "ON CONFLICT (user_id, scope, scope_id) DO NOTHING";
+    private static final String DELETE_SCOPE_SQL = "DELETE FROM completion_day_bitmaps WHERE scope = ? AND scope_id = ?";
+    private static final String DELETE_USER_TASK_SQL =
+            "DELETE FROM completion_day_bitmaps WHERE user_id = ? AND ((scope = 'TASK' AND scope_id = ?) "
+                    + "OR (scope = 'CHALLENGE' AND scope_id = (SELECT challenge_id FROM challenge_tasks WHERE id = ?)))";
+    private static final String TASK_DAYS_SQL =
+            "SELECT DISTINCT completion_date::date - DATE '1970-01-01' FROM task_completions "
+                    + "WHERE user_id = ? AND task_id = ? AND verification_status = 'APPROVED'";
+    private static final String CHALLENGE_DAYS_SQL =
+            "SELECT DISTINCT tc.completion_date::date - DATE '1970-01-01' FROM task_completions tc "
+                    + "JOIN challenge_tasks t ON t.id = tc.task_id "
+                    + "WHERE tc.user_id = ? AND t.challenge_id = ? AND tc.verification_status = 'APPROVED'";
+    private static final String APPROVED_DAY_SQL =
+            "SELECT tc.completion_date::date - DATE '1970-01-01' AS day, t.challenge_id FROM task_completions tc "
+                    + "JOIN challenge_tasks t ON t.id = tc.task_id "
+                    + "WHERE tc.id = ? AND tc.verification_status = 'APPROVED'";
+
+    private final ChallengeRepository challengeRepository;
+    private final ChallengeTaskRepository challengeTaskRepository;
+    private final RecurrenceRuleCache recurrenceRuleCache;
+    private final ChallengeService challengeService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${streak.updater-queue-capacity:10000}")
+    private int updaterQueueCapacity;
+
+    private ThreadPoolExecutor updater;
+
+    @PostConstruct
+    void init() {
+        // One thread keeps the updates of this node in commit order
+        updater = new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(updaterQueueCapacity),
+                new CustomizableThreadFactory("streak-updater-"),
+                this::onRejected
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        updater.shutdown();
+    }
+
+    @Override
+    public StreakResponse getChallengeStreak(Long userId, Long challengeId, LocalDate from, LocalDate to) {
+        ChallengeScheduleView challenge = challengeRepository.findScheduleById(challengeId)
+                .orElseThrow(() -> new EntityNotFoundException("Challenge not found with id: " + challengeId));
+        RoaringBitmap done = getDays(userId, Scope.CHALLENGE, challengeId);
+        int today = (int) LocalDate.now().toEpochDay();
+        int end = end(challenge.getEndDate(), today);
+        int start = start(challenge.getStartDate(), done, end);
+        RoaringBitmap due = challengeDueDays(challengeId, challenge.getStartDate(), start, end);
+        return response(done, due, today, start, end, from, to);
+    }
+
+    @Override
+    public StreakResponse getTaskStreak(Long userId, Long taskId, LocalDate from, LocalDate to) {
+        TaskScheduleView task = challengeTaskRepository.findScheduleById(taskId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found with id: " + taskId));
+        RoaringBitmap done = getDays(userId, Scope.TASK, taskId);
+        int today = (int) LocalDate.now().toEpochDay();
+        int end = end(task.getEndDate(), today);
+        int start = start(task.getStartDate(), done, end);
+        RoaringBitmap due = new RoaringBitmap();
+        if (Boolean.TRUE.equals(task.getRecurring())) {
+            LocalDate anchor = task.getStartDate() != null ? task.getStartDate() : LocalDate.EPOCH;
+            RecurrenceRule rule = recurrenceRuleCache.getRule(taskId, task.getRecurrencePattern(), anchor);
+            rule.forEachOccurrence(start, end + 1L, day -> due.add((int) day));
+        } else {
+            // A one-off task is due once: on the day it was first done, or until the end if it hasn't been,
+            // so its streak is 1 or 0 however often it was repeated
+            due.add(done.isEmpty() ? end : done.first());
+        }
+        return response(done, due, today, start, end, from, to);
+    }
+
+    /**
+     * Apply a committed completion status change to the day bitmaps of its user.
+     * Runs on the updater thread, so the request that made the change doesn't wait for it.
+     *
+     * @param event the completion status change event
+     */
+    @EventListener
+    public void onCompletionStatusChanged(CompletionStatusChangedEvent event) {
+        if (event.previousStatusKnown() && !event.approvalChanged()) {
+            return;
+        }
+        updater.execute(new StatusUpdate(event));
+    }
+
+    /**
+     * Drop the bitmaps of a deleted task, and the challenge bitmaps its completions contributed to.
+     *
+     * @param event the task change event
+     */
+    @EventListener
+    public void onChallengeTaskChanged(ChallengeTaskChangedEvent event) {
+        if (event.getChangeType() != ChangeType.DELETED) {
+            return;
+        }
+        updater.execute(() -> {
+            dropScope(Scope.TASK, event.getTaskId());
+            dropScope(Scope.CHALLENGE, event.getChallengeId());
+        });
+    }
+
+    /**
+     * Drop the bitmaps of a deleted challenge.
+     *
+     * @param event the challenge change event
+     */
+    @EventListener
+    public void onChallengeChanged(ChallengeChangedEvent event) {
+        if (event.getChangeType() == ChangeType.DELETED) {
+            updater.execute(() -> dropScope(Scope.CHALLENGE, event.getChallengeId()));
+        }
+    }
+
+    /**
+     * Handle an update the queue can't take. A status change drops the affected rows, which are rebuilt from the
+     * database on their next read; dropping the rows of a deleted task or challenge is run on the calling thread.
+     */
+    private void onRejected(Runnable task, ThreadPoolExecutor executor) {
+        if (!(task instanceof StatusUpdate update)) {
+            task.run();
+            return;
+        }
+        CompletionStatusChangedEvent event = update.event;
+        log.warn("Streak update queue is full, dropping the completion days of user {} for task {}",
+                event.getUserId(), event.getTaskId());
+        try {
+            jdbcTemplate.update(DELETE_USER_TASK_SQL, event.getUserId(), event.getTaskId(), event.getTaskId());
+        } catch (DataAccessException e) {
+            log.warn("Could not drop the completion days of user {} for task {}", event.getUserId(), event.getTaskId(), e);
+        }
+    }
+
+    private void applyStatusChange(CompletionStatusChangedEvent event) {
+        Long userId = event.getUserId();
+        try {
+            ApprovedDay approved = event.getStatus() == TaskCompletion.VerificationStatus.APPROVED
+                    ? findApprovedDay(event.getCompletionId())
+                    : null;
+            if (approved != null) {
+                addDay(userId, Scope.TASK, event.getTaskId(), approved.day());
+                addDay(userId, Scope.CHALLENGE, approved.challengeId(), approved.day());
+                return;
+            }
+            rebuild(userId, Scope.TASK, event.getTaskId());
+            // A deleted task has no challenge left to look up; its deletion dropped the challenge bitmaps
+            challengeTaskRepository.findPointsById(event.getTaskId())
+                    .ifPresent(task -> rebuild(userId, Scope.CHALLENGE, task.getChallengeId()));
+        } catch (RuntimeException e) {
+            log.warn("Could not update the completion days of user {} for completion {}",
+                    userId, event.getCompletionId(), e);
+        }
+    }
+
+    private ApprovedDay findApprovedDay(Long completionId) {
+        List<ApprovedDay> days = jdbcTemplate.query(APPROVED_DAY_SQL,
+                (rs, rowNum) -> new ApprovedDay(rs.getInt("day"), rs.getLong("challenge_id")), completionId);
+        return days.isEmpty() ? null : days.get(0);
+    }
+
+    private RoaringBitmap getDays(Long userId, Scope scope, Long scopeId) {
+        List<byte[]> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> rs.getBytes(1), userId, scope.name(), scopeId);
+        if (!rows.isEmpty()) {
+            return DayBitmaps.deserialize(rows.get(0));
+        }
+        RoaringBitmap days = loadDays(userId, scope, scopeId);
+        try {
+            // Never overwrite: a concurrent approval may have stored a newer bitmap since the days were loaded
+            jdbcTemplate.update(INSERT_SQL, userId, scope.name(), scopeId, DayBitmaps.serialize(days));
+        } catch (DataAccessException e) {
+            log.warn("Could not store the completion days of user {} for {} {}", userId, scope, scopeId, e);
+        }
+        return days;
+    }
+
+    private void addDay(Long userId, Scope scope, Long scopeId, int day) {
+        transactionTemplate.executeWithoutResult(status -> {
+            lock(userId, scope, scopeId);
+            List<byte[]> rows = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> rs.getBytes(1), userId, scope.name(), scopeId);
+            if (rows.isEmpty()) {
+                // Never built: the committed approval is already in the database
+                store(userId, scope, scopeId, loadDays(userId, scope, scopeId));
+                return;
+            }
+            RoaringBitmap days = DayBitmaps.deserialize(rows.get(0));
+            if (days.checkedAdd(day)) {
+                store(userId, scope, scopeId, days);
+            }
+        });
+    }
+
+    private void rebuild(Long userId, Scope scope, Long scopeId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            // Lock first, so an approval applied by another node waits for the rebuilt bitmap
+            lock(userId, scope, scopeId);
+            store(userId, scope, scopeId, loadDays(userId, scope, scopeId));
+        });
+    }
+
+    /**
+     * Take the advisory lock of a bitmap until the end of the current transaction. Unlike a row lock it also
+     * holds while the row doesn't exist, so two first builds can't interleave and lose a day.
+     */
+    private void lock(Long userId, Scope scope, Long scopeId) {
+        jdbcTemplate.query(LOCK_SQL, (rs, rowNum) -> null, "completion_day_bitmaps:" + userId + ":" + scope + ":" + scopeId);
+    }
+
+    private RoaringBitmap loadDays(Long userId, Scope scope, Long scopeId) {
+        RoaringBitmap days = new RoaringBitmap();
+        jdbcTemplate.query(scope == Scope.TASK ? TASK_DAYS_SQL : CHALLENGE_DAYS_SQL, rs -> {
+            days.add(rs.getInt(1));
+        }, userId, scopeId);
+        return days;
+    }
+
+    private void store(Long userId, Scope scope, Long scopeId, RoaringBitmap days) {
+        jdbcTemplate.update(UPSERT_SQL, userId, scope.name(), scopeId, DayBitmaps.serialize(days));
+    }
+
+    private void dropScope(Scope scope, Long scopeId) {
+        try {
+            jdbcTemplate.update(DELETE_SCOPE_SQL, scope.name(), scopeId);
+        } catch (DataAccessException e) {
+            log.warn("Could not drop the completion days of {} {}", scope, scopeId, e);
+        }
+    }
+
+    /**
+     * Get the days a challenge has something due: the union of the occurrences of its recurring tasks,
+     * or every day if it has none.
+     *
+     * @param challengeId the challenge ID
+     * @param startDate the challenge start date, which anchors the recurrences
+     * @param start the first day, as an epoch day
+     * @param end the last day, as an epoch day
+     * @return the due days
+     */
+    private RoaringBitmap challengeDueDays(Long challengeId, LocalDate startDate, int start, int end) {
+        RoaringBitmap due = new RoaringBitmap();
+        if (start > end) {
+            return due;
+        }
+        List<ChallengeTaskResponse> recurring = challengeService.getTasks(challengeId).stream()
+                .filter(task -> Boolean.TRUE.equals(task.getRecurring()))
+                .toList();
+        if (recurring.isEmpty()) {
+            due.add((long) start, end + 1L);
+            return due;
+        }
+        LocalDate anchor = startDate != null ? startDate : LocalDate.EPOCH;
+        for (ChallengeTaskResponse task : recurring) {
+            RecurrenceRule rule = recurrenceRuleCache.getRule(task.getId(), task.getRecurrencePattern(), anchor);
+            rule.forEachOccurrence(start, end + 1L, day -> due.add((int) day));
+        }
+        return due;
+    }
+
+    private static int end(LocalDate endDate, int today) {
+        return endDate != null ? (int) Math.min(endDate.toEpochDay(), today) : today;
+    }
+
+    private static int start(LocalDate startDate, RoaringBitmap done, int end) {
+        if (startDate != null) {
+            return (int) startDate.toEpochDay();
+        }
+        return done.isEmpty() ? end : Math.min(done.first(), end);
+    }
+
+    private static StreakResponse response(RoaringBitmap done, RoaringBitmap due, int today, int start, int end,
+                                           LocalDate from, LocalDate to) {
+        RoaringBitmap doneWhenDue = RoaringBitmap.and(due, done);
+        int windowFrom = from != null ? (int) Math.max(0, from.toEpochDay()) : Math.max(0, start);
+        int windowTo = to != null ? (int) Math.min(to.toEpochDay(), end) : end;
+        long dueDays = windowFrom <= windowTo ? due.rangeCardinality(windowFrom, windowTo + 1L) : 0;
+        long completedDays = windowFrom <= windowTo ? doneWhenDue.rangeCardinality(windowFrom, windowTo + 1L) : 0;
+        return StreakResponse.builder()
+                .currentStreak(DayBitmaps.currentStreak(doneWhenDue, due, today))
+                .longestStreak(DayBitmaps.longestStreak(doneWhenDue, due, today))
+                .lastCompletedOn(done.isEmpty() ? null : LocalDate.ofEpochDay(done.last()))
+                .from(LocalDate.ofEpochDay(windowFrom))
+                .to(LocalDate.ofEpochDay(windowTo))
+                .dueDays(dueDays)
+                .completedDays(completedDays)
+                .completionRate(dueDays == 0 ? 0 : (double) completedDays / dueDays)
+                .build();
+    }
+
+    private enum Scope {
+        TASK,
+        CHALLENGE
+    }
+
+    private record ApprovedDay(int day, long challengeId) {
+    }
+
+    /**
+     * A completion status change waiting for the updater.
+     */
+    private final class StatusUpdate implements Runnable {
+
+        private final CompletionStatusChangedEvent event;
+
+        private StatusUpdate(CompletionStatusChangedEvent event) {
+            this.event = event;
+        }
+
+        @Override
+        public void run() {
+            applyStatusChange(event);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.strivesync.service.impl;
+
+import com.strivesync.api.dto.response.SuggestionResponse;
+import com.strivesync.api.dto.response.SuggestionsResponse;
+import com.strivesync.repository.ChallengeRepository;
+import com.strivesync.repository.UserRepository;
+import com.strivesync.repository.projection.ChallengeTitleView;
+import com.strivesync.repository.projection.UsernameView;
+import com.strivesync.service.SuggestionService;
+import com.strivesync.service.event.ChallengeChangedEvent;
+import com.strivesync.service.event.ChangeType;
+import com.strivesync.service.event.UserIdentityChangedEvent;
+import com.strivesync.util.TypeaheadIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the SuggestionService interface.
+ * <p>
+ * Suggestions are served from in-process {@link TypeaheadIndex} instances without touching the database.
+ * The indexes are built at startup, rebuilt periodically to refresh popularity weights and pick up changes made
+ * on other nodes, and updated incrementally from committed entity change events in between.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SuggestionServiceImpl implements SuggestionService {
+
+    private static final String METRIC_PREFIX = "typeahead.index.";
+
+    private final ChallengeRepository challengeRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${typeahead.top-k:10}")
+    private int topK;
+
+    private volatile TypeaheadIndex challengeIndex;
+    private volatile TypeaheadIndex userIndex;
+
+    /**
+     * Changes applied since the last rebuild started, replayed onto the rebuilt indexes.
+     */
+    private final Queue<Consumer<TypeaheadIndex>> recentChallengeChanges = new ConcurrentLinkedQueue<>();
+    private final Queue<Consumer<TypeaheadIndex>> recentUserChanges = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    void init() {
+        challengeIndex = TypeaheadIndex.empty(topK);
+        userIndex = TypeaheadIndex.empty(topK);
+        registerGauges("challenges", () -> challengeIndex);
+        registerGauges("users", () -> userIndex);
+    }
+
+    @Override
+    public SuggestionsResponse suggest(String prefix, int limit) {
+        return SuggestionsResponse.builder()
+                .challenges(toResponses(challengeIndex.suggest(prefix, limit)))
+                .users(toResponses(userIndex.suggest(prefix, limit)))
+                .build();
+    }
+
+    /**
+     * Rebuild both indexes from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${typeahead.rebuild-interval:600000}",
+            initialDelayString = "${typeahead.rebuild-interval:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        List<Consumer<TypeaheadIndex>> challengeChanges = List.copyOf(recentChallengeChanges);
+        try (Stream<ChallengeTitleView> titles = challengeRepository.streamPublicTitles()) {
+            TypeaheadIndex rebuilt = TypeaheadIndex.build(titles.map(title -> new TypeaheadIndex.Suggestion(
+                    title.getId(), title.getTitle(), title.getParticipantCount())), topK);
+            challengeIndex = rebuilt;
+            recentChallengeChanges.forEach(change -> change.accept(rebuilt));
+            recentChallengeChanges.removeAll(challengeChanges);
+        }
+
+        List<Consumer<TypeaheadIndex>> userChanges = List.copyOf(recentUserChanges);
+        try (Stream<UsernameView> usernames = userRepository.streamUsernames()) {
+            TypeaheadIndex rebuilt = TypeaheadIndex.build(usernames.map(user -> new TypeaheadIndex.Suggestion(
+                    user.getId(), user.getUsername(), 0)), topK);
+            userIndex = rebuilt;
+            recentUserChanges.forEach(change -> change.accept(rebuilt));
+            recentUserChanges.removeAll(userChanges);
+        }
+
+        log.info("Rebuilt typeahead indexes: {} challenges ({} bytes), {} users ({} bytes)",
+                challengeIndex.size(), challengeIndex.sizeInBytes(), userIndex.size(), userIndex.sizeInBytes());
+    }
+
+    /**
+     * Apply a committed challenge change to the challenge index.
+     * Renamed challenges keep their popularity weight until the next rebuild.
+     *
+     * @param event the challenge change event
+     */
+    @EventListener
+    public void onChallengeChanged(ChallengeChangedEvent event) {
+        Consumer<TypeaheadIndex> change = index -> {
+            if (event.getChangeType() == ChangeType.DELETED || event.isPrivateChallenge()) {
+                index.remove(event.getChallengeId());
+            } else {
+                TypeaheadIndex.Suggestion previous = index.get(event.getChallengeId());
+                index.put(new TypeaheadIndex.Suggestion(event.getChallengeId(), event.getTitle(),
+                        previous != null ? previous.weight() : 0));
+            }
+        };
+        recentChallengeChanges.add(change);
+        change.accept(challengeIndex);
+    }
+
+    /**
+     * Apply a committed user change to the user index.
+     *
+     * @param event the user change event
+     */
+    @EventListener
+    public void onUserIdentityChanged(UserIdentityChangedEvent event) {
+        Consumer<TypeaheadIndex> change = index -> {
+            if (event.getChangeType() == ChangeType.DELETED) {
+                index.remove(event.getUserId());
+            } else {
+                index.put(new TypeaheadIndex.Suggestion(event.getUserId(), event.getUsername(), 0));
+            }
+        };
+        recentUserChanges.add(change);
+        change.accept(userIndex);
+    }
+
+    private void registerGauges(String name, Supplier<TypeaheadIndex> index) {
+        Gauge.builder(METRIC_PREFIX + "entries", () -> index.get().size())
+                .tag("index", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "nodes", () -> index.get().nodeCount())
+                .tag("index", name)
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + "memory", () -> index.get().sizeInBytes())
+                .tag("index", name)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private static List<SuggestionResponse> toResponses(List<TypeaheadIndex.Suggestion> suggestions) {
+        return suggestions.stream()
+                .map(suggestion -> new SuggestionResponse(suggestion.id(), suggestion.text()))
+                .toList();
+    }
+}
@@ -0,0 +1,285 @@
+package com.strivesync.service.impl;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.strivesync.api.dto.request.CompletionSubmissionRequest;
+import com.strivesync.api.dto.response.CompletionBatchResponse;
+import com.strivesync.api.dto.response.CompletionExportRow;
+import com.strivesync.api.dto.response.CompletionSubmissionResult;
+import com.strivesync.api.dto.response.CursorPage;
+import com.strivesync.api.dto.response.TaskCompletionResponse;
+import com.strivesync.domain.TaskCompletion;
+import com.strivesync.repository.TaskCompletionRepository;
+import com.strivesync.service.CountEstimator;
+import com.strivesync.service.TaskCompletionService;
+import com.strivesync.util.Cursor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the TaskCompletionService interface.
+ * Listings are keyset-paginated on (completion date, id), so every slice costs the same index range scan.
+ * Exports stream DTO projections through a database cursor, so no entities are loaded into the persistence context.
+ * Batch submissions are validated and inserted with a fixed number of set-based statements, whatever the batch size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class TaskCompletionServiceImpl implements TaskCompletionService {
+
+    private static final String EXISTING_KEYS_SQL =
+            "SELECT client_key, id FROM task_completions WHERE user_id = ? AND client_key = ANY (?)";
+    private static final String ELIGIBLE_TASKS_SQL =
+            "SELECT t.id, t.is_recurring, c.start_date, c.end_date FROM challenge_tasks t "
+                    + "JOIN challenges c ON c.id = t.challenge_id "
+                    + "JOIN user_challenges uc ON uc.challenge_id = c.id AND uc.user_id = ? "
+                    + "WHERE t.id = ANY (?)";
+    private static final String COMPLETED_TASKS_SQL =
+            "SELECT DISTINCT task_id FROM task_completions "
+                    + "WHERE user_id = ? AND task_id = ANY (?) AND verification_status <> 'REJECTED'";
+    private static final String INSERT_COMPLETIONS_SQL =
+            "INSERT INTO task_completions (user_id, task_id, completion_date, notes, verification_status, client_key, "
+                    + "created_at, updated_at) "
+                    + "SELECT ?, s.task_id, s.completion_date, s.notes, 'PENDING', s.client_key, now(), now() "
+                    + "FROM unnest(?::bigint[], ?::timestamp[], ?::text[], ?::text[]) "
+                    + "AS s(task_id, completion_date, notes, client_key) "
+                    + "ON CONFLICT (user_id, client_key) WHERE client_key IS NOT NULL DO NOTHING "
+                    + "RETURNING id, client_key";
+
+    private final TaskCompletionRepository taskCompletionRepository;
+    private final CountEstimator countEstimator;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public CursorPage<TaskCompletionResponse> getCompletions(Long userId, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<TaskCompletionResponse> rows;
+        if (cursor == null) {
+            rows = taskCompletionRepository.findResponsesByUser(userId, limit);
+        } else {
+            Cursor position = Cursor.decode(cursor);
+            rows = taskCompletionRepository.findResponsesByUserAfter(userId, position.key(), position.id(), limit);
+        }
+        long total = countEstimator.estimate("completions:user:" + userId, () -> taskCompletionRepository.countByUserId(userId));
+        return CursorPage.of(rows, size, TaskCompletionServiceImpl::cursorOf, total);
+    }
+
+    @Override
+    public CursorPage<TaskCompletionResponse> getCompletionsByStatus(TaskCompletion.VerificationStatus status, String cursor, int size) {
+        Limit limit = Limit.of(size + 1);
+        List<TaskCompletionResponse> rows;
+        if (cursor == null) {
+            rows = taskCompletionRepository.findResponsesByVerificationStatus(status, limit);
+        } else {
+            Cursor position = Cursor.decode(cursor);
+            rows = taskCompletionRepository.findResponsesByVerificationStatusAfter(status, position.key(), position.id(), limit);
+        }
+        long total = countEstimator.estimate("completions:status:" + status, () -> taskCompletionRepository.countByVerificationStatus(status));
+        return CursorPage.of(rows, size, TaskCompletionServiceImpl::cursorOf, total);
+    }
+
+    @Override
+    public long exportCompletions(Long userId, LocalDateTime from, LocalDateTime to, OutputStream out) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(CompletionExportRow.class);
+        long count = 0;
+        try (Stream<CompletionExportRow> rows = userId != null
+                ? taskCompletionRepository.streamExportByUser(userId, from, to)
+                : taskCompletionRepository.streamExport(from, to)) {
+            Iterator<CompletionExportRow> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                out.write(writer.writeValueAsBytes(iterator.next()));
+                out.write('\n');
+                count++;
+            }
+        }
+        out.flush();
+        log.info("Exported {} completions for {}", count, userId != null ? "user " + userId : "all users");
+        return count;
+    }
+
+    @Override
+    @Transactional
+    public CompletionBatchResponse submitCompletions(Long userId, List<CompletionSubmissionRequest> submissions) {
+        Map<String, Long> existingKeys = findExistingKeys(userId,
+                submissions.stream().map(CompletionSubmissionRequest::getClientKey).distinct().toArray(String[]::new));
+        Map<Long, EligibleTask> eligibleTasks = findEligibleTasks(userId,
+                submissions.stream().map(CompletionSubmissionRequest::getTaskId).distinct().toArray(Long[]::new));
+        Set<Long> completedTasks = findCompletedTasks(userId, eligibleTasks.entrySet().stream()
+                .filter(task -> !task.getValue().recurring())
+                .map(Map.Entry::getKey)
+                .toArray(Long[]::new));
+
+        CompletionSubmissionResult[] results = new CompletionSubmissionResult[submissions.size()];
+        Map<String, Integer> firstByKey = new HashMap<>();
+        List<CompletionSubmissionRequest> accepted = new ArrayList<>();
+        for (int i = 0; i < submissions.size(); i++) {
+            CompletionSubmissionRequest submission = submissions.get(i);
+            String clientKey = submission.getClientKey();
+            EligibleTask task = eligibleTasks.get(submission.getTaskId());
+            if (firstByKey.putIfAbsent(clientKey, i) != null) {
+                continue;
+            }
+            if (existingKeys.containsKey(clientKey)) {
+                results[i] = result(clientKey, CompletionSubmissionResult.Status.DUPLICATE, existingKeys.get(clientKey), null);
+            } else if (task == null) {
+                results[i] = rejected(clientKey, "Task not found or not part of a challenge you joined");
+            } else if (!task.allows(submission.getCompletionDate())) {
+                results[i] = rejected(clientKey, "Completion date is outside the challenge");
+            } else if (!task.recurring() && !completedTasks.add(submission.getTaskId())) {
+                results[i] = rejected(clientKey, "Task already completed");
+            } else {
+                accepted.add(submission);
+            }
+        }
+
+        Map<String, Long> inserted = insertCompletions(userId, accepted);
+        List<String> lostRaces = accepted.stream()
+                .map(CompletionSubmissionRequest::getClientKey)
+                .filter(clientKey -> !inserted.containsKey(clientKey))
+                .toList();
+        // Keys inserted by a concurrent submission of the same batch since the first lookup
+        Map<String, Long> concurrent = lostRaces.isEmpty() ? Map.of() : findExistingKeys(userId, lostRaces.toArray(String[]::new));
+        for (CompletionSubmissionRequest submission : accepted) {
+            String clientKey = submission.getClientKey();
+            int index = firstByKey.get(clientKey);
+            results[index] = inserted.containsKey(clientKey)
+                    ? result(clientKey, CompletionSubmissionResult.Status.CREATED, inserted.get(clientKey), null)
+                    : result(clientKey, CompletionSubmissionResult.Status.DUPLICATE, concurrent.get(clientKey), null);
+        }
+
+        CompletionBatchResponse response = new CompletionBatchResponse();
+        for (int i = 0; i < results.length; i++) {
+            String clientKey = submissions.get(i).getClientKey();
+            CompletionSubmissionResult result = results[i];
+            if (result == null) {
+                // A repeated key within the batch gets the outcome of its first occurrence
+                CompletionSubmissionResult first = results[firstByKey.get(clientKey)];
+                result = first.getStatus() == CompletionSubmissionResult.Status.REJECTED
+                        ? first
+                        : result(clientKey, CompletionSubmissionResult.Status.DUPLICATE, first.getCompletionId(), null);
+            }
+            response.getResults().add(result);
+            switch (result.getStatus()) {
+                case CREATED -> response.setCreated(response.getCreated() + 1);
+                case DUPLICATE -> response.setDuplicates(response.getDuplicates() + 1);
+                case REJECTED -> response.setRejected(response.getRejected() + 1);
+            }
+        }
+        return response;
+    }
+
+    private Map<String, Long> findExistingKeys(Long userId, String[] clientKeys) {
+        Map<String, Long> existing = new HashMap<>();
+        jdbcTemplate.query(EXISTING_KEYS_SQL, ps -> {
+            ps.setLong(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("text", clientKeys));
+        }, rs -> {
+            existing.put(rs.getString("client_key"), rs.getLong("id"));
+        });
+        return existing;
+    }
+
+    private Map<Long, EligibleTask> findEligibleTasks(Long userId, Long[] taskIds) {
+        Map<Long, EligibleTask> eligible = new HashMap<>();
+        jdbcTemplate.query(ELIGIBLE_TASKS_SQL, ps -> {
+            ps.setLong(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", taskIds));
+        }, rs -> {
+            Date startDate = rs.getDate("start_date");
+            Date endDate = rs.getDate("end_date");
+            eligible.put(rs.getLong("id"), new EligibleTask(rs.getBoolean("is_recurring"),
+                    startDate != null ? startDate.toLocalDate() : null,
+                    endDate != null ? endDate.toLocalDate() : null));
+        });
+        return eligible;
+    }
+
+    private Set<Long> findCompletedTasks(Long userId, Long[] taskIds) {
+        Set<Long> completed = new HashSet<>();
+        if (taskIds.length == 0) {
+            return completed;
+        }
+        jdbcTemplate.query(COMPLETED_TASKS_SQL, ps -> {
+            ps.setLong(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", taskIds));
+        }, rs -> {
+            completed.add(rs.getLong("task_id"));
+        });
+        return completed;
+    }
+
+    /**
+     * Insert completions with one statement, whatever their number. Keys that already exist are skipped
+     * by the unique (user_id, client_key) index instead of failing the batch.
+     *
+     * @return the IDs of the inserted completions by client key
+     */
+    private Map<String, Long> insertCompletions(Long userId, List<CompletionSubmissionRequest> completions) {
+        Map<String, Long> inserted = new HashMap<>();
+        if (completions.isEmpty()) {
+            return inserted;
+        }
+        Long[] taskIds = completions.stream().map(CompletionSubmissionRequest::getTaskId).toArray(Long[]::new);
+        Timestamp[] completionDates = completions.stream()
+                .map(completion -> Timestamp.valueOf(completion.getCompletionDate()))
+                .toArray(Timestamp[]::new);
+        String[] notes = completions.stream().map(CompletionSubmissionRequest::getNotes).toArray(String[]::new);
+        String[] clientKeys = completions.stream().map(CompletionSubmissionRequest::getClientKey).toArray(String[]::new);
+        jdbcTemplate.query(INSERT_COMPLETIONS_SQL, ps -> {
+            ps.setLong(1, userId);
+            ps.setArray(2, ps.getConnection().createArrayOf("bigint", taskIds));
+            ps.setArray(3, ps.getConnection().createArrayOf("timestamp", completionDates));
+            ps.setArray(4, ps.getConnection().createArrayOf("text", notes));
+            ps.setArray(5, ps.getConnection().createArrayOf("text", clientKeys));
+        }, rs -> {
+            inserted.put(rs.getString("client_key"), rs.getLong("id"));
+        });
+        log.debug("Inserted {} of {} submitted completions for user {}", inserted.size(), completions.size(), userId);
+        return inserted;
+    }
+
+    private static CompletionSubmissionResult rejected(String clientKey, String error) {
+        return result(clientKey, CompletionSubmissionResult.Status.REJECTED, null, error);
+    }
+
+    private static CompletionSubmissionResult result(String clientKey, CompletionSubmissionResult.Status status,
+                                                     Long completionId, String error) {
+        return new CompletionSubmissionResult(clientKey, status, completionId, error);
+    }
+
+    private static Cursor cursorOf(TaskCompletionResponse completion) {
+        return new Cursor(completion.getCompletionDate(), completion.getId());
+    }
+
+    /**
+     * A task the user may complete: it belongs to a challenge they joined.
+     */
+    private record EligibleTask(boolean recurring, LocalDate startDate, LocalDate endDate) {
+
+        boolean allows(LocalDateTime completionDate) {
+            LocalDate day = completionDate.toLocalDate();
+            return (startDate == null || !day.isBefore(startDate)) && (endDate == null || !day.isAfter(endDate));
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.strivesync.service.impl;
+
+import com.strivesync.repository.UserRepository;
+import com.strivesync.repository.projection.UserIdentityView;
+import com.strivesync.service.UserAvailabilityService;
+import com.strivesync.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Implementation of the UserAvailabilityService interface.
+ * Taken usernames and emails are held in an in-memory Bloom filter, so most availability checks
+ * ("definitely not taken") are answered without a query; only possible hits are confirmed in the database.
+ * The filter is rebuilt periodically and new registrations are shared between nodes over Redis pub/sub;
+ * registrations seen while a rebuild streams the users are re-applied to the rebuilt filter.
+ * A stale "available" answer is harmless: registration itself relies on the database unique constraints.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserAvailabilityServiceImpl implements UserAvailabilityService, MessageListener {
+
+    private static final ChannelTopic CHANNEL = new ChannelTopic("taken-identities");
+    private static final String USERNAME_PREFIX = "u:";
+    private static final String EMAIL_PREFIX = "e:";
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+
+    @Value("${user-availability.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${user-availability.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    /**
+     * Filter of taken usernames and emails; null until the first rebuild.
+     */
+    private volatile BloomFilter taken;
+
+    /**
+     * Keys taken since the last rebuild started, re-applied after the rebuilt filter is swapped in.
+     */
+    private final Set<String> recentlyTaken = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void init() {
+        listenerContainer.addMessageListener(this, CHANNEL);
+    }
+
+    @Override
+    public boolean isUsernameAvailable(String username) {
+        return isDefinitelyAbsent(USERNAME_PREFIX + normalize(username))
+                || !userRepository.existsByUsername(username);
+    }
+
+    @Override
+    public boolean isEmailAvailable(String email) {
+        return isDefinitelyAbsent(EMAIL_PREFIX + normalize(email))
+                || !userRepository.existsByEmail(email);
+    }
+
+    @Override
+    public void markTaken(String username, String email) {
+        addLocal(username, email);
+        try {
+            redisTemplate.convertAndSend(CHANNEL.getTopic(), username + "\n" + email);
+        } catch (DataAccessException e) {
+            log.warn("Could not broadcast new identity {}", username, e);
+        }
+    }
+
+    /**
+     * Rebuild the Bloom filter from all users in the database.
+     * Until the first rebuild completes every name is reported as possibly taken and checked in the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${user-availability.rebuild-interval:600000}",
+            initialDelayString = "${user-availability.rebuild-interval:600000}")
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        Set<String> alreadyIndexed = Set.copyOf(recentlyTaken);
+        long users = userRepository.count();
+        BloomFilter rebuilt = BloomFilter.create(Math.max(expectedUsers, users * 2) * 2, falsePositiveRate);
+        try (Stream<UserIdentityView> identities = userRepository.streamIdentities()) {
+            identities.forEach(identity -> {
+                rebuilt.put(USERNAME_PREFIX + normalize(identity.getUsername()));
+                rebuilt.put(EMAIL_PREFIX + normalize(identity.getEmail()));
+            });
+        }
+        taken = rebuilt;
+        // Registrations broadcast while the stream ran may have been missed by it
+        recentlyTaken.forEach(rebuilt::put);
+        recentlyTaken.removeAll(alreadyIndexed);
+        log.info("Rebuilt taken identity filter for {} users ({} bytes)", users, rebuilt.sizeInBytes());
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] identity = new String(message.getBody(), StandardCharsets.UTF_8).split("\n", 2);
+        if (identity.length == 2) {
+            addLocal(identity[0], identity[1]);
+        }
+    }
+
+    private boolean isDefinitelyAbsent(String key) {
+        BloomFilter filter = taken;
+        return filter != null && !filter.mightContain(key);
+    }
+
+    private void addLocal(String username, String email) {
+        String usernameKey = USERNAME_PREFIX + normalize(username);
+        String emailKey = EMAIL_PREFIX + normalize(email);
+        recentlyTaken.add(usernameKey);
+        recentlyTaken.add(emailKey);
+        BloomFilter filter = taken;
+        if (filter != null) {
+            filter.put(usernameKey);
+            filter.put(emailKey);
+        }
+    }
+
+    private static String normalize(String value) {
+        return value.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,440 @@
+package com.strivesync.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.strivesync.api.dto.response.UserImportReport;
+import com.strivesync.service.UserImportService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of the UserImportService interface.
+ * <p>
+ * Rows are read one at a time and processed in chunks: passwords of a chunk are hashed in parallel on a
+ * dedicated pool, then the chunk is written in a single transaction with one set-based conflict check and
+ * JDBC batch inserts into {@code users} and {@code user_roles}. Memory use is bounded by the chunk size.
+ * Imported users are picked up by the availability filter on its next rebuild.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class UserImportServiceImpl implements UserImportService {
+
+    private static final Pattern USERNAME_PATTERN = Pattern.compile("^[a-zA-Z0-9._-]{3,50}$");
+    private static final String DEFAULT_ROLE = "ROLE_USER";
+
+    private static final String FIND_TAKEN_SQL =
+            "SELECT username, email FROM users WHERE username = ANY (?) OR email = ANY (?)";
+    private static final String INSERT_USER_SQL =
+            "INSERT INTO users (username, email, password_hash, full_name, enabled, security_version, created_at, updated_at) "
+                    + "VALUES (?, ?, ?, ?, true, 0, now(), now())";
+    private static final String INSERT_ROLE_SQL =
+            "INSERT INTO user_roles (user_id, role) VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+
+    @Value("${user-import.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${user-import.max-reported-errors:1000}")
+    private int maxReportedErrors;
+
+    @Value("${user-import.hashing-threads:0}")
+    private int hashingThreads;
+
+    private ExecutorService hashingPool;
+
+    @PostConstruct
+    void init() {
+        int threads = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        hashingPool = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("user-import-hashing-"));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    @Override
+    public UserImportReport importUsers(InputStream input, Format format, long resumeAfter) {
+        UserImportReport report = UserImportReport.builder()
+                .lastCommittedRow(resumeAfter)
+                .build();
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            RowReader rows = format == Format.CSV ? new CsvRowReader(reader) : new NdjsonRowReader(reader, objectMapper);
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = rows.next()) != null) {
+                report.setRowsRead(row.number());
+                if (row.number() <= resumeAfter) {
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() == chunkSize) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                importChunk(chunk, report);
+            }
+            report.setCompleted(true);
+        } catch (IOException | DataAccessException e) {
+            log.warn("User import stopped after row {}", report.getLastCommittedRow(), e);
+            report.setAbortReason(e.getMessage());
+        }
+
+        log.info("Imported {} users, {} rows failed", report.getImported(), report.getFailed());
+        return report;
+    }
+
+    /**
+     * Validate, hash and write one chunk of rows.
+     *
+     * @param chunk the rows of the chunk
+     * @param report the report to update
+     */
+    private void importChunk(List<ImportRow> chunk, UserImportReport report) {
+        List<ImportRow> valid = new ArrayList<>(chunk.size());
+        for (ImportRow row : chunk) {
+            String error = row.error() != null ? row.error() : validate(row);
+            if (error != null) {
+                addError(report, row, error);
+            } else {
+                valid.add(row);
+            }
+        }
+
+        List<CompletableFuture<String>> hashes = valid.stream()
+                .map(row -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(row.password()), hashingPool))
+                .toList();
+        List<HashedRow> hashed = new ArrayList<>(valid.size());
+        for (int i = 0; i < valid.size(); i++) {
+            try {
+                hashed.add(new HashedRow(valid.get(i), hashes.get(i).join()));
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                log.warn("Could not hash the password of import row {}", valid.get(i).number(), cause);
+                addError(report, valid.get(i), "Password could not be hashed: " + cause.getMessage());
+            }
+        }
+
+        if (hashed.isEmpty()) {
+            report.setLastCommittedRow(chunk.get(chunk.size() - 1).number());
+            return;
+        }
+
+        ChunkResult result;
+        try {
+            result = transactionTemplate.execute(status -> writeChunk(hashed));
+        } catch (DuplicateKeyException e) {
+            // A concurrent writer took a name after the conflict check; the retry's check will see it
+            result = transactionTemplate.execute(status -> writeChunk(hashed));
+        }
+
+        result.conflicts().forEach((row, message) -> addError(report, row, message));
+        report.setImported(report.getImported() + result.inserted());
+        report.setLastCommittedRow(chunk.get(chunk.size() - 1).number());
+    }
+
+    /**
+     * Write a chunk inside the current transaction.
+     *
+     * @param rows the hashed rows
+     * @return the number of inserted users and the rows rejected as conflicts
+     */
+    private ChunkResult writeChunk(List<HashedRow> rows) {
+        Set<String> takenUsernames = new HashSet<>();
+        Set<String> takenEmails = new HashSet<>();
+        String[] usernames = rows.stream().map(row -> row.row().username()).toArray(String[]::new);
+        String[] emails = rows.stream().map(row -> row.row().email()).toArray(String[]::new);
+        jdbcTemplate.query(FIND_TAKEN_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("text", usernames));
+            ps.setArray(2, ps.getConnection().createArrayOf("text", emails));
+        }, rs -> {
+            takenUsernames.add(rs.getString("username"));
+            takenEmails.add(rs.getString("email"));
+        });
+
+        Map<ImportRow, String> conflicts = new HashMap<>();
+        List<HashedRow> toInsert = new ArrayList<>(rows.size());
+        for (HashedRow row : rows) {
+            // Set.add doubles as the duplicate check within the chunk
+            if (!takenUsernames.add(row.row().username())) {
+                conflicts.put(row.row(), "Username is already taken");
+            } else if (!takenEmails.add(row.row().email())) {
+                conflicts.put(row.row(), "Email is already taken");
+            } else {
+                toInsert.add(row);
+            }
+        }
+        if (toInsert.isEmpty()) {
+            return new ChunkResult(0, conflicts);
+        }
+
+        GeneratedKeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_USER_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        HashedRow row = toInsert.get(i);
+                        ps.setString(1, row.row().username());
+                        ps.setString(2, row.row().email());
+                        ps.setString(3, row.passwordHash());
+                        ps.setString(4, row.row().fullName());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return toInsert.size();
+                    }
+                },
+                keyHolder
+        );
+
+        List<Long> userIds = keyHolder.getKeyList().stream()
+                .map(keys -> ((Number) keys.get("id")).longValue())
+                .toList();
+        jdbcTemplate.batchUpdate(INSERT_ROLE_SQL, userIds, userIds.size(), (ps, userId) -> {
+            ps.setLong(1, userId);
+            ps.setString(2, DEFAULT_ROLE);
+        });
+
+        return new ChunkResult(toInsert.size(), conflicts);
+    }
+
+    private String validate(ImportRow row) {
+        if (row.username() == null || !USERNAME_PATTERN.matcher(row.username()).matches()) {
+            return "Username must be 3 to 50 letters, numbers, dots, underscores or hyphens";
+        }
+        if (row.email() == null || row.email().length() > 100 || !row.email().contains("@")) {
+            return "Email must be valid";
+        }
+        if (row.password() == null || row.password().length() < 8 || row.password().length() > 100) {
+            return "Password must be between 8 and 100 characters";
+        }
+        if (row.fullName() != null && row.fullName().length() > 100) {
+            return "Full name must be less than 100 characters";
+        }
+        return null;
+    }
+
+    private void addError(UserImportReport report, ImportRow row, String message) {
+        report.setFailed(report.getFailed() + 1);
+        if (report.getErrors().size() < maxReportedErrors) {
+            report.getErrors().add(new UserImportReport.RowError(row.number(), row.username(), message));
+        } else {
+            report.setErrorsTruncated(true);
+        }
+    }
+
+    /**
+     * A parsed input row; {@code error} is set if the row couldn't be parsed.
+     */
+    private record ImportRow(long number, String username, String email, String password, String fullName, String error) {
+    }
+
+    private record HashedRow(ImportRow row, String passwordHash) {
+    }
+
+    private record ChunkResult(int inserted, Map<ImportRow, String> conflicts) {
+    }
+
+    /**
+     * Reads input rows one at a time.
+     */
+    private interface RowReader {
+
+        /**
+         * Read the next data row.
+         *
+         * @return the row, or null at the end of the input
+         * @throws IOException if the input can't be read
+         */
+        ImportRow next() throws IOException;
+    }
+
+    /**
+     * Reads CSV with a header row naming the username, email, password and fullName columns.
+     * Fields may be quoted; quoted fields can't span lines.
+     */
+    private static final class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private Map<String, Integer> columns;
+        private long rowNumber;
+
+        private CsvRowReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line = nextLine();
+            if (columns == null) {
+                if (line == null) {
+                    return null;
+                }
+                columns = readHeader(parse(line));
+                line = nextLine();
+            }
+            if (line == null) {
+                return null;
+            }
+
+            rowNumber++;
+            List<String> fields = parse(line);
+            if (fields == null) {
+                return new ImportRow(rowNumber, null, null, null, null, "Malformed CSV row");
+            }
+            return new ImportRow(rowNumber, field(fields, "username"), field(fields, "email"),
+                    field(fields, "password"), field(fields, "fullname"), null);
+        }
+
+        private String nextLine() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line;
+        }
+
+        private Map<String, Integer> readHeader(List<String> header) throws IOException {
+            if (header == null) {
+                throw new IOException("Malformed CSV header");
+            }
+            Map<String, Integer> indexes = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                indexes.put(header.get(i).trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+            }
+            if (!indexes.containsKey("username") || !indexes.containsKey("email") || !indexes.containsKey("password")) {
+                throw new IOException("CSV header must contain username, email and password columns");
+            }
+            return indexes;
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+
+        /**
+         * Split a CSV line into fields.
+         *
+         * @param line the line
+         * @return the fields, or null if a quoted field isn't closed
+         */
+        private static List<String> parse(String line) {
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * Reads one JSON object per line with username, email, password and fullName fields.
+     */
+    private static final class NdjsonRowReader implements RowReader {
+
+        private final BufferedReader reader;
+        private final ObjectMapper objectMapper;
+        private long rowNumber;
+
+        private NdjsonRowReader(BufferedReader reader, ObjectMapper objectMapper) {
+            this.reader = reader;
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        public ImportRow next() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            if (line == null) {
+                return null;
+            }
+
+            rowNumber++;
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                return new ImportRow(rowNumber, text(node, "username"), text(node, "email"),
+                        text(node, "password"), text(node, "fullName"), null);
+            } catch (JsonProcessingException e) {
+                return new ImportRow(rowNumber, null, null, null, null, "Malformed JSON row");
+            }
+        }
+
+        private static String text(JsonNode node, String field) {
+            JsonNode value = node.get(field);
+            return value != null && !value.isNull() ? value.asText().trim() : null;
+        }
+    }
+}
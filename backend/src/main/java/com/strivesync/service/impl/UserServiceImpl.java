@@ -3,19 +3,27 @@ package com.strivesync.service.impl;
 import com.strivesync.domain.User;
 import com.strivesync.repository.UserRepository;
 import com.strivesync.security.CustomUserDetailsService;
+import com.strivesync.security.PasswordHashingExecutor;
 import com.strivesync.service.UserService;
+import com.strivesync.service.event.UserSecurityChangedEvent;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashSet;
 import java.util.Set;
 
 /**
  * Implementation of the UserService interface.
+ * <p>
+ * Passwords are hashed before the transaction that stores them begins, so a request waiting for the hashing
+ * pool doesn't hold a database connection.
  */
 @Service
 @RequiredArgsConstructor
@@ -23,7 +31,10 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingExecutor passwordHashingExecutor;
     private final CustomUserDetailsService userDetailsService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
 
     @Override
     public User findByUsername(String username) throws UsernameNotFoundException {
@@ -48,22 +59,91 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    @Transactional
     public User createUser(String username, String email, String password, String fullName) {
         User user = User.builder()
                 .username(username)
                 .email(email)
-                .passwordHash(passwordEncoder.encode(password))
+                .passwordHash(encodePassword(password))
                 .fullName(fullName)
                 .enabled(true)
                 .roles(Set.of("ROLE_USER"))
                 .build();
 
-        return userRepository.save(user);
+        // saveAndFlush runs in its own short transaction; flushing surfaces a taken username or email here
+        // as a DataIntegrityViolationException
+        return userRepository.saveAndFlush(user);
+    }
+
+    @Override
+    @Transactional
+    public User updateRoles(Long userId, Set<String> roles) {
+        User user = findById(userId);
+        user.setRoles(new HashSet<>(roles));
+        return saveSecurityChange(user);
+    }
+
+    @Override
+    public User updatePassword(Long userId, String newPassword) {
+        String passwordHash = encodePassword(newPassword);
+        return transactionTemplate.execute(status -> {
+            User user = findById(userId);
+            user.setPasswordHash(passwordHash);
+            return saveSecurityChange(user);
+        });
+    }
+
+    @Override
+    @Transactional
+    public User setEnabled(Long userId, boolean enabled) {
+        User user = findById(userId);
+        user.setEnabled(enabled);
+        return saveSecurityChange(user);
+    }
+
+    @Override
+    @Transactional
+    public User revokeTokens(Long userId) {
+        return saveSecurityChange(findById(userId));
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return userDetailsService.loadUserByUsername(username);
     }
-} 
\ No newline at end of file
+
+    /**
+     * Find a user by ID.
+     *
+     * @param userId the user ID
+     * @return the user
+     * @throws EntityNotFoundException if the user is not found
+     */
+    private User findById(Long userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+    }
+
+    /**
+     * Hash a password on the bounded password hashing pool. Must not be called inside a transaction.
+     *
+     * @param rawPassword the raw password
+     * @return the password hash
+     */
+    private String encodePassword(String rawPassword) {
+        return passwordHashingExecutor.execute(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * Bump the user's security version, save it and notify listeners.
+     *
+     * @param user the changed user
+     * @return the saved user
+     */
+    private User saveSecurityChange(User user) {
+        user.setSecurityVersion(user.getSecurityVersion() + 1);
+        User saved = userRepository.save(user);
+        eventPublisher.publishEvent(new UserSecurityChangedEvent(
+                saved.getId(), saved.getUsername(), saved.getEmail(), saved.getSecurityVersion()));
+        return saved;
+    }
+}
@@ -0,0 +1,131 @@
+package com.strivesync.service.impl;
+
+import com.strivesync.api.dto.request.VerificationDecisionRequest;
+import com.strivesync.api.dto.response.TaskCompletionResponse;
+import com.strivesync.api.dto.response.VerificationClaimResponse;
+import com.strivesync.api.dto.response.VerificationDecisionResponse;
+import com.strivesync.domain.TaskCompletion;
+import com.strivesync.repository.TaskCompletionRepository;
+import com.strivesync.service.VerificationQueueService;
+import com.strivesync.service.event.ChangeType;
+import com.strivesync.service.event.CompletionStatusChangedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Implementation of the VerificationQueueService interface.
+ * <p>
+ * Claims take the oldest pending rows with {@code FOR UPDATE SKIP LOCKED}, so concurrent reviewers pass over
+ * each other's rows instead of waiting on them, and stamp them with a lease. Claimable rows are found through
+ * a partial index on pending completions, so a claim costs the same however many completions have been decided.
+ * Decisions are applied with plain SQL, which bypasses the Hibernate change listener, so the status change
+ * events are published here once the transaction commits.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class VerificationQueueServiceImpl implements VerificationQueueService {
+
+    private static final String CLAIM_SQL =
+            "UPDATE task_completions SET claimed_by = ?, claim_expires_at = now() + ? * interval '1 millisecond' "
+                    + "WHERE id IN (SELECT id FROM task_completions "
+                    + "WHERE verification_status = 'PENDING' AND (claim_expires_at IS NULL OR claim_expires_at < now()) "
+                    + "ORDER BY completion_date, id LIMIT ? FOR UPDATE SKIP LOCKED) "
+                    + "RETURNING id, claim_expires_at";
+    private static final String RELEASE_SQL =
+            "UPDATE task_completions SET claimed_by = NULL, claim_expires_at = NULL "
+                    + "WHERE id = ANY (?) AND claimed_by = ? AND verification_status = 'PENDING'";
+    private static final String DECIDE_SQL =
+            "UPDATE task_completions SET verification_status = ?, verification_date = now(), verification_notes = ?, "
+                    + "claimed_by = NULL, claim_expires_at = NULL, updated_at = now() "
+                    + "WHERE id = ANY (?) AND claimed_by = ? AND verification_status = 'PENDING' "
+                    + "RETURNING id, user_id, task_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TaskCompletionRepository taskCompletionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${verification.lease-duration:300000}")
+    private long leaseDuration;
+
+    @Override
+    public VerificationClaimResponse claim(Long reviewerId, int limit) {
+        List<Long> claimedIds = new ArrayList<>();
+        LocalDateTime[] leaseExpiresAt = new LocalDateTime[1];
+        jdbcTemplate.query(CLAIM_SQL, ps -> {
+            ps.setLong(1, reviewerId);
+            ps.setLong(2, leaseDuration);
+            ps.setInt(3, limit);
+        }, rs -> {
+            claimedIds.add(rs.getLong("id"));
+            Timestamp expiresAt = rs.getTimestamp("claim_expires_at");
+            leaseExpiresAt[0] = expiresAt.toLocalDateTime();
+        });
+        if (claimedIds.isEmpty()) {
+            return new VerificationClaimResponse(null, List.of());
+        }
+        List<TaskCompletionResponse> completions = taskCompletionRepository.findResponsesByIds(claimedIds);
+        log.debug("Reviewer {} claimed {} completions", reviewerId, claimedIds.size());
+        return new VerificationClaimResponse(leaseExpiresAt[0], completions);
+    }
+
+    @Override
+    public int release(Long reviewerId, List<Long> completionIds) {
+        return jdbcTemplate.update(RELEASE_SQL, ps -> {
+            ps.setArray(1, ps.getConnection().createArrayOf("bigint", completionIds.toArray()));
+            ps.setLong(2, reviewerId);
+        });
+    }
+
+    @Override
+    public VerificationDecisionResponse decide(Long reviewerId, List<Long> completionIds,
+                                               VerificationDecisionRequest.Decision decision, String notes) {
+        TaskCompletion.VerificationStatus status = decision.toStatus();
+        List<CompletionStatusChangedEvent> events = new ArrayList<>();
+        jdbcTemplate.query(DECIDE_SQL, ps -> {
+            ps.setString(1, status.name());
+            ps.setString(2, notes);
+            ps.setArray(3, ps.getConnection().createArrayOf("bigint", completionIds.toArray()));
+            ps.setLong(4, reviewerId);
+        }, rs -> {
+            events.add(new CompletionStatusChangedEvent(rs.getLong("id"), rs.getLong("user_id"), rs.getLong("task_id"),
+                    TaskCompletion.VerificationStatus.PENDING, status, ChangeType.UPDATED));
+        });
+        publishAfterCommit(events);
+
+        VerificationDecisionResponse response = new VerificationDecisionResponse();
+        Set<Long> decided = new HashSet<>();
+        events.forEach(event -> decided.add(event.getCompletionId()));
+        for (Long completionId : completionIds) {
+            (decided.contains(completionId) ? response.getDecided() : response.getSkipped()).add(completionId);
+        }
+        return response;
+    }
+
+    private void publishAfterCommit(List<CompletionStatusChangedEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.forEach(eventPublisher::publishEvent);
+            }
+        });
+    }
+}
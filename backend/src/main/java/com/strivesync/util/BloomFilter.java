@@ -0,0 +1,100 @@
+package com.strivesync.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * Answers "definitely absent" or "possibly present" in constant time without locking;
+ * concurrent inserts are applied with compare-and-set on the underlying words.
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitSize;
+    private final int hashCount;
+
+    private BloomFilter(long bitSize, int hashCount) {
+        this.words = new AtomicLongArray((int) ((bitSize + 63) / 64));
+        this.bitSize = bitSize;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * Create a Bloom filter sized for the expected number of insertions and false positive rate.
+     *
+     * @param expectedInsertions the expected number of values
+     * @param falsePositiveRate the desired false positive rate, between 0 and 1
+     * @return the Bloom filter
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = Math.max(64, Math.min(bits, (long) Integer.MAX_VALUE * 64));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    /**
+     * Add a value.
+     *
+     * @param value the value
+     */
+    public void put(CharSequence value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(index);
+            while ((current & mask) == 0 && !words.compareAndSet(index, current, current | mask)) {
+                current = words.get(index);
+            }
+        }
+    }
+
+    /**
+     * Check whether a value may have been added.
+     *
+     * @param value the value
+     * @return false if the value was definitely never added, true if it possibly was
+     */
+    public boolean mightContain(CharSequence value) {
+        long hash1 = hash(value);
+        long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = ((hash1 + i * hash2) & Long.MAX_VALUE) % bitSize;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get the memory used by the bit array.
+     *
+     * @return the size of the bit array in bytes
+     */
+    public long sizeInBytes() {
+        return words.length() * 8L;
+    }
+
+    private static long hash(CharSequence value) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,48 @@
+package com.strivesync.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated listing: the sort key and id of the last row returned.
+ * Clients only see the opaque encoded form.
+ *
+ * @param key the sort key of the last row
+ * @param id the id of the last row, breaking ties between equal sort keys
+ */
+public record Cursor(LocalDateTime key, long id) {
+
+    private static final char SEPARATOR = '|';
+
+    /**
+     * Encode the cursor as an opaque URL-safe token.
+     *
+     * @return the token
+     */
+    public String encode() {
+        String raw = key.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}.
+     *
+     * @param token the token
+     * @return the cursor
+     * @throws InvalidCursorException if the token is malformed
+     */
+    public static Cursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException();
+            }
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.strivesync.util;
+
+import org.roaringbitmap.IntIterator;
+import org.roaringbitmap.RoaringBitmap;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Operations on sets of days kept as compressed Roaring bitmaps indexed by epoch day.
+ * <p>
+ * Streaks are measured over due days: a day that was due and not done ends a streak, while days that were not
+ * due are skipped. Today is never counted as missed, since there is still time to complete it.
+ */
+public final class DayBitmaps {
+
+    private DayBitmaps() {
+    }
+
+    /**
+     * Serialize a set of days in the portable Roaring format, run-length encoding runs of consecutive days.
+     *
+     * @param days the days
+     * @return the serialized bitmap
+     */
+    public static byte[] serialize(RoaringBitmap days) {
+        days.runOptimize();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(days.serializedSizeInBytes());
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            days.serialize(out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Deserialize a set of days.
+     *
+     * @param bytes the serialized bitmap
+     * @return the days
+     */
+    public static RoaringBitmap deserialize(byte[] bytes) {
+        RoaringBitmap days = new RoaringBitmap();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            days.deserialize(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return days;
+    }
+
+    /**
+     * Count the due days done since the last missed due day.
+     *
+     * @param done the due days that were done
+     * @param due the due days, up to today at most
+     * @param today the current epoch day
+     * @return the current streak
+     */
+    public static int currentStreak(RoaringBitmap done, RoaringBitmap due, int today) {
+        RoaringBitmap missed = missed(done, due, today);
+        long start = missed.isEmpty() ? 0 : missed.last() + 1L;
+        return (int) done.rangeCardinality(start, today + 1L);
+    }
+
+    /**
+     * Find the longest run of due days done without missing one.
+     *
+     * @param done the due days that were done
+     * @param due the due days, up to today at most
+     * @param today the current epoch day
+     * @return the longest streak
+     */
+    public static int longestStreak(RoaringBitmap done, RoaringBitmap due, int today) {
+        long longest = 0;
+        long start = 0;
+        IntIterator missed = missed(done, due, today).getIntIterator();
+        while (missed.hasNext()) {
+            int day = missed.next();
+            longest = Math.max(longest, done.rangeCardinality(start, day));
+            start = day + 1L;
+        }
+        return (int) Math.max(longest, done.rangeCardinality(start, today + 1L));
+    }
+
+    private static RoaringBitmap missed(RoaringBitmap done, RoaringBitmap due, int today) {
+        RoaringBitmap missed = RoaringBitmap.andNot(due, done);
+        missed.remove(today);
+        return missed;
+    }
+}
@@ -0,0 +1,69 @@
+package com.strivesync.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Helpers for entity tags used in conditional GET requests.
+ */
+public final class ETags {
+
+    private static final String WEAK_PREFIX = "W/";
+    private static final int TAG_BYTES = 16;
+
+    private ETags() {
+    }
+
+    /**
+     * Build a strong entity tag from the values that identify a version of a resource.
+     * Equal values always give the same tag, on every node.
+     *
+     * @param parts the version values, such as ids, update timestamps and counts
+     * @return the quoted entity tag
+     */
+    public static String of(Object... parts) {
+        MessageDigest digest = sha256();
+        for (Object part : parts) {
+            digest.update(String.valueOf(part).getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+        }
+        byte[] hash = digest.digest();
+        return '"' + HexFormat.of().formatHex(hash, 0, TAG_BYTES) + '"';
+    }
+
+    /**
+     * Check if an If-None-Match header matches an entity tag, using the weak comparison RFC 9110 requires for it.
+     * Tags weakened by response compression still match.
+     *
+     * @param ifNoneMatch the If-None-Match header, may be null
+     * @param etag the current entity tag
+     * @return true if the client's copy is current
+     */
+    public static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        String current = stripWeak(etag);
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(current)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith(WEAK_PREFIX) ? tag.substring(WEAK_PREFIX.length()) : tag;
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.strivesync.util;
+
+/**
+ * Exception thrown when a pagination cursor can't be decoded.
+ */
+public class InvalidCursorException extends RuntimeException {
+
+    public InvalidCursorException() {
+        super("Invalid pagination cursor");
+    }
+}
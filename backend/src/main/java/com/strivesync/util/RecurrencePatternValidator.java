@@ -0,0 +1,32 @@
+package com.strivesync.util;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+import org.hibernate.validator.constraintvalidation.HibernateConstraintValidatorContext;
+
+import java.time.LocalDate;
+
+/**
+ * Validator for {@link ValidRecurrencePattern}. Reports why a pattern can't be compiled.
+ */
+public class RecurrencePatternValidator implements ConstraintValidator<ValidRecurrencePattern, String> {
+
+    @Override
+    public boolean isValid(String pattern, ConstraintValidatorContext context) {
+        if (pattern == null || pattern.isBlank()) {
+            return true;
+        }
+        try {
+            // The anchor only positions the occurrences, it doesn't affect which patterns compile
+            RecurrenceRule.compile(pattern, LocalDate.EPOCH);
+            return true;
+        } catch (IllegalArgumentException e) {
+            context.disableDefaultConstraintViolation();
+            // Passed as a parameter, as the reason quotes the pattern and must not be interpolated itself
+            context.unwrap(HibernateConstraintValidatorContext.class).addMessageParameter("detail", e.getMessage());
+            context.buildConstraintViolationWithTemplate("Unsupported recurrence pattern: {detail}")
+                    .addConstraintViolation();
+            return false;
+        }
+    }
+}
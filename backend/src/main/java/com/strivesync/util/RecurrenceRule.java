@@ -0,0 +1,349 @@
+package com.strivesync.util;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+
+/**
+ * A recurrence pattern compiled into a few integers and bit masks, anchored at the day the recurrence starts.
+ * <p>
+ * Supported patterns are a subset of iCalendar RRULEs, with or without the {@code RRULE:} prefix:
+ * {@code FREQ=DAILY|WEEKLY|MONTHLY} with optional {@code INTERVAL}, {@code BYDAY} (e.g. {@code MO,WE,FR}),
+ * {@code BYMONTHDAY} (1 to 31, or -1 to -31 counting from the end of the month) and {@code UNTIL} (yyyyMMdd).
+ * The shorthands {@code DAILY}, {@code WEEKLY}, {@code MONTHLY}, {@code WEEKDAYS}, {@code WEEKENDS} and plain day
+ * lists such as {@code MON,WED,FRI} are accepted too. Weekly rules without days recur on the anchor's day of the
+ * week and monthly rules without days on the anchor's day of the month, as in RFC 5545.
+ * <p>
+ * Days are given as epoch days; checking a day is pure arithmetic and allocates nothing.
+ */
+public final class RecurrenceRule {
+
+    private static final int DAILY = 0;
+    private static final int WEEKLY = 1;
+    private static final int MONTHLY = 2;
+
+    private static final int ALL_DAYS = 0b111_1111;
+    private static final int WEEKDAYS = 0b001_1111;
+    private static final int WEEKENDS = 0b110_0000;
+    private static final String[] DAY_CODES = {"MO", "TU", "WE", "TH", "FR", "SA", "SU"};
+    private static final String[] DAY_NAMES = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+    private static final int MAX_INTERVAL = 1000;
+
+    private final String pattern;
+    private final long anchor;
+    private final long until;
+    private final int frequency;
+    private final int interval;
+    private final int dayOfWeekMask;
+    /**
+     * Bits 1 to 31 select days of the month counted from the start, bits 33 to 63 counted from the end.
+     */
+    private final long monthDayMask;
+    private final long anchorWeek;
+    private final int anchorMonth;
+
+    private RecurrenceRule(String pattern, long anchor, long until, int frequency, int interval,
+                           int dayOfWeekMask, long monthDayMask) {
+        this.pattern = pattern;
+        this.anchor = anchor;
+        this.until = until;
+        this.frequency = frequency;
+        this.interval = interval;
+        this.dayOfWeekMask = dayOfWeekMask;
+        this.monthDayMask = monthDayMask;
+        this.anchorWeek = Math.floorDiv(anchor + 3, 7);
+        this.anchorMonth = monthIndex(anchor);
+    }
+
+    /**
+     * Compile a recurrence pattern.
+     *
+     * @param pattern the recurrence pattern
+     * @param anchor the first day the recurrence can fall on
+     * @return the compiled rule
+     * @throws IllegalArgumentException if the pattern is not supported
+     */
+    public static RecurrenceRule compile(String pattern, LocalDate anchor) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("Recurrence pattern is empty");
+        }
+        long anchorDay = anchor.toEpochDay();
+        String normalized = pattern.trim().toUpperCase(Locale.ROOT);
+        if (normalized.startsWith("RRULE:")) {
+            normalized = normalized.substring("RRULE:".length());
+        }
+        switch (normalized) {
+            case "DAILY":
+                return new RecurrenceRule(pattern, anchorDay, Long.MAX_VALUE, DAILY, 1, ALL_DAYS, 0);
+            case "WEEKLY":
+                return new RecurrenceRule(pattern, anchorDay, Long.MAX_VALUE, WEEKLY, 1, 1 << dayOfWeek(anchorDay), 0);
+            case "MONTHLY":
+                return new RecurrenceRule(pattern, anchorDay, Long.MAX_VALUE, MONTHLY, 1, ALL_DAYS,
+                        1L << dayOfMonth(anchorDay));
+            case "WEEKDAYS":
+                return new RecurrenceRule(pattern, anchorDay, Long.MAX_VALUE, DAILY, 1, WEEKDAYS, 0);
+            case "WEEKENDS":
+                return new RecurrenceRule(pattern, anchorDay, Long.MAX_VALUE, DAILY, 1, WEEKENDS, 0);
+            default:
+                return normalized.contains("=")
+                        ? compileRule(pattern, normalized, anchorDay)
+                        : new RecurrenceRule(pattern, anchorDay, Long.MAX_VALUE, WEEKLY, 1, parseDays(normalized), 0);
+        }
+    }
+
+    /**
+     * Create a rule that recurs every day, for recurring tasks without a pattern.
+     *
+     * @param pattern the original recurrence pattern, kept so the rule can be matched against it
+     * @param anchor the first day the recurrence can fall on
+     * @return the daily rule
+     */
+    public static RecurrenceRule daily(String pattern, LocalDate anchor) {
+        return new RecurrenceRule(pattern, anchor.toEpochDay(), Long.MAX_VALUE, DAILY, 1, ALL_DAYS, 0);
+    }
+
+    /**
+     * Create a rule that never recurs, for tasks whose pattern can't be compiled.
+     *
+     * @param pattern the original recurrence pattern, kept so the rule can be matched against it
+     * @param anchor the first day the recurrence can fall on
+     * @return the rule without occurrences
+     */
+    public static RecurrenceRule never(String pattern, LocalDate anchor) {
+        return new RecurrenceRule(pattern, anchor.toEpochDay(), Long.MIN_VALUE, DAILY, 1, 0, 0);
+    }
+
+    private static RecurrenceRule compileRule(String pattern, String rule, long anchorDay) {
+        int frequency = -1;
+        int interval = 1;
+        int dayOfWeekMask = 0;
+        long monthDayMask = 0;
+        long until = Long.MAX_VALUE;
+        for (String part : rule.split(";")) {
+            if (part.isBlank()) {
+                continue;
+            }
+            String[] nameAndValue = part.split("=", 2);
+            if (nameAndValue.length < 2) {
+                throw new IllegalArgumentException("Malformed recurrence rule part: " + part);
+            }
+            String value = nameAndValue[1].trim();
+            switch (nameAndValue[0].trim()) {
+                case "FREQ" -> frequency = switch (value) {
+                    case "DAILY" -> DAILY;
+                    case "WEEKLY" -> WEEKLY;
+                    case "MONTHLY" -> MONTHLY;
+                    default -> throw new IllegalArgumentException("Unsupported recurrence frequency: " + value);
+                };
+                case "INTERVAL" -> interval = parseInt(value, 1, MAX_INTERVAL, "INTERVAL");
+                case "BYDAY" -> dayOfWeekMask = parseDays(value);
+                case "BYMONTHDAY" -> monthDayMask = parseMonthDays(value);
+                case "UNTIL" -> until = parseUntil(value);
+                case "WKST" -> {
+                    // weeks are always counted from Monday
+                }
+                default -> throw new IllegalArgumentException("Unsupported recurrence rule part: " + nameAndValue[0]);
+            }
+        }
+        if (frequency < 0) {
+            throw new IllegalArgumentException("Recurrence rule has no FREQ");
+        }
+        if (monthDayMask != 0 && frequency != MONTHLY) {
+            throw new IllegalArgumentException("BYMONTHDAY is only supported with FREQ=MONTHLY");
+        }
+        if (dayOfWeekMask == 0) {
+            dayOfWeekMask = frequency == WEEKLY ? 1 << dayOfWeek(anchorDay) : ALL_DAYS;
+            if (frequency == MONTHLY && monthDayMask == 0) {
+                monthDayMask = 1L << dayOfMonth(anchorDay);
+            }
+        }
+        return new RecurrenceRule(pattern, anchorDay, until, frequency, interval, dayOfWeekMask, monthDayMask);
+    }
+
+    private static int parseDays(String value) {
+        int mask = 0;
+        for (String day : value.split(",")) {
+            String code = day.trim();
+            int index = -1;
+            for (int i = 0; i < DAY_CODES.length; i++) {
+                if (code.equals(DAY_CODES[i]) || code.equals(DAY_NAMES[i])) {
+                    index = i;
+                }
+            }
+            if (index < 0) {
+                throw new IllegalArgumentException("Unsupported recurrence day: " + code);
+            }
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    private static long parseMonthDays(String value) {
+        long mask = 0;
+        for (String day : value.split(",")) {
+            int monthDay = parseInt(day.trim(), -31, 31, "BYMONTHDAY");
+            if (monthDay == 0) {
+                throw new IllegalArgumentException("BYMONTHDAY must not be 0");
+            }
+            mask |= monthDay > 0 ? 1L << monthDay : 1L << (32 - monthDay);
+        }
+        return mask;
+    }
+
+    private static long parseUntil(String value) {
+        if (value.length() < 8) {
+            throw new IllegalArgumentException("UNTIL must be a date in yyyyMMdd form: " + value);
+        }
+        int year = parseInt(value.substring(0, 4), 1, 9999, "UNTIL");
+        int month = parseInt(value.substring(4, 6), 1, 12, "UNTIL");
+        int day = parseInt(value.substring(6, 8), 1, 31, "UNTIL");
+        try {
+            return LocalDate.of(year, month, day).toEpochDay();
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("UNTIL is not a valid date: " + value, e);
+        }
+    }
+
+    private static int parseInt(String value, int min, int max, String name) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(name + " must be between " + min + " and " + max + ": " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(name + " is not a number: " + value, e);
+        }
+    }
+
+    /**
+     * Check if the rule was compiled from a pattern and anchor, so a cached rule can be reused.
+     *
+     * @param pattern the recurrence pattern
+     * @param anchor the anchor day
+     * @return true if the rule is for the same pattern and anchor
+     */
+    public boolean isCompiledFrom(String pattern, LocalDate anchor) {
+        return this.pattern.equals(pattern) && this.anchor == anchor.toEpochDay();
+    }
+
+    /**
+     * Check if the recurrence falls on a day.
+     *
+     * @param epochDay the day, as an epoch day
+     * @return true if the recurrence falls on the day
+     */
+    public boolean isDueOn(long epochDay) {
+        if (epochDay < anchor || epochDay > until || (dayOfWeekMask & (1 << dayOfWeek(epochDay))) == 0) {
+            return false;
+        }
+        return switch (frequency) {
+            case DAILY -> interval == 1 || (epochDay - anchor) % interval == 0;
+            case WEEKLY -> interval == 1 || (Math.floorDiv(epochDay + 3, 7) - anchorWeek) % interval == 0;
+            default -> isDueInMonth(epochDay);
+        };
+    }
+
+    /**
+     * Check if the recurrence falls on a date.
+     *
+     * @param date the date
+     * @return true if the recurrence falls on the date
+     */
+    public boolean isDueOn(LocalDate date) {
+        return isDueOn(date.toEpochDay());
+    }
+
+    /**
+     * Call an action for every day in a range the recurrence falls on.
+     *
+     * @param fromEpochDay the first day of the range, inclusive
+     * @param toEpochDay the end of the range, exclusive
+     * @param action receives the epoch day of each occurrence, in order
+     * @return the number of occurrences
+     */
+    public int forEachOccurrence(long fromEpochDay, long toEpochDay, LongConsumer action) {
+        int count = 0;
+        long end = Math.min(toEpochDay, until == Long.MAX_VALUE ? Long.MAX_VALUE : until + 1);
+        long step = frequency == DAILY && dayOfWeekMask == ALL_DAYS ? interval : 1;
+        long day = Math.max(fromEpochDay, anchor);
+        if (step > 1) {
+            day += Math.floorMod(anchor - day, step);
+        }
+        for (; day < end; day += step) {
+            if (isDueOn(day)) {
+                count++;
+                if (action != null) {
+                    action.accept(day);
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Count the days in a range the recurrence falls on.
+     *
+     * @param fromEpochDay the first day of the range, inclusive
+     * @param toEpochDay the end of the range, exclusive
+     * @return the number of occurrences
+     */
+    public int countOccurrences(long fromEpochDay, long toEpochDay) {
+        return forEachOccurrence(fromEpochDay, toEpochDay, null);
+    }
+
+    private boolean isDueInMonth(long epochDay) {
+        long civil = civil(epochDay);
+        int month = (int) (civil >> 5);
+        if ((month - anchorMonth) % interval != 0) {
+            return false;
+        }
+        if (monthDayMask == 0) {
+            return true;
+        }
+        int day = (int) (civil & 31);
+        int fromEnd = lengthOfMonth(month) - day + 1;
+        return (monthDayMask & (1L << day)) != 0 || (monthDayMask & (1L << (32 + fromEnd))) != 0;
+    }
+
+    /**
+     * Get the day of the week of an epoch day, 0 for Monday to 6 for Sunday. 1970-01-01 was a Thursday.
+     */
+    private static int dayOfWeek(long epochDay) {
+        return (int) Math.floorMod(epochDay + 3, 7);
+    }
+
+    // Civil calendar arithmetic after Howard Hinnant's days_from_civil algorithms, with March-based years
+
+    private static long civil(long epochDay) {
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long dayOfEra = z - era * 146097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return ((year * 12 + month - 1) << 5) | day;
+    }
+
+    private static int monthIndex(long epochDay) {
+        return (int) (civil(epochDay) >> 5);
+    }
+
+    private static int dayOfMonth(long epochDay) {
+        return (int) (civil(epochDay) & 31);
+    }
+
+    private static int lengthOfMonth(int monthIndex) {
+        int year = Math.floorDiv(monthIndex, 12);
+        int month = Math.floorMod(monthIndex, 12) + 1;
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+}
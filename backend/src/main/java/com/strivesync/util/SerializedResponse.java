@@ -0,0 +1,84 @@
+package com.strivesync.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A response body serialized once and kept in both identity and gzip encodings, so it can be served
+ * any number of times without serializing or compressing it again.
+ * <p>
+ * Each encoding is a different representation, so each has its own strong entity tag.
+ *
+ * @param identity the serialized body
+ * @param gzip the serialized body, gzip-compressed
+ * @param etag the entity tag of the identity encoding
+ */
+public record SerializedResponse(byte[] identity, byte[] gzip, String etag) {
+
+    private static final String GZIP = "gzip";
+
+    /**
+     * Compress a serialized body. Compression happens once per cached body, so it uses the best ratio.
+     *
+     * @param body the serialized body
+     * @param etag the entity tag of the body
+     * @return the response in both encodings
+     */
+    public static SerializedResponse of(byte[] body, String etag) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, body.length / 4));
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed) {
+            {
+                def.setLevel(Deflater.BEST_COMPRESSION);
+            }
+        }) {
+            out.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SerializedResponse(body, compressed.toByteArray(), etag);
+    }
+
+    /**
+     * Get the entity tag of the gzip encoding.
+     *
+     * @return the quoted entity tag
+     */
+    public String gzipETag() {
+        return etag.substring(0, etag.length() - 1) + "-" + GZIP + '"';
+    }
+
+    /**
+     * Check if an Accept-Encoding header allows a gzip-encoded response.
+     *
+     * @param acceptEncoding the Accept-Encoding header, may be null
+     * @return true if gzip is acceptable
+     */
+    public static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase(GZIP) || name.equals("*")) {
+                return parts.length < 2 || !isZeroQuality(parts[1]);
+            }
+        }
+        return false;
+    }
+
+    private static boolean isZeroQuality(String parameter) {
+        String[] nameAndValue = parameter.trim().split("=", 2);
+        if (nameAndValue.length < 2 || !nameAndValue[0].trim().equalsIgnoreCase("q")) {
+            return false;
+        }
+        try {
+            return Double.parseDouble(nameAndValue[1].trim()) == 0;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+}
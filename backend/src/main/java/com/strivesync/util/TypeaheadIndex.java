@@ -0,0 +1,542 @@
+package com.strivesync.util;
+
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index for as-you-type suggestions.
+ * <p>
+ * Texts are normalized (case, accents, punctuation) and inserted into a radix trie once per word start, so typing
+ * any word of a text finds it. Each key is the text from its word start on, cut to {@value #MAX_KEY_LENGTH}
+ * characters: every word is indexed, and a typed prefix longer than that matches on its first
+ * {@value #MAX_KEY_LENGTH} characters. Chains of single-child nodes are collapsed into one edge label to keep the trie
+ * compact. Every node keeps the best {@code topK} entries of its subtree by weight, so a lookup is a walk down the
+ * prefix with no further search. The trie is persistent: updates copy the nodes on the changed paths and swap the
+ * root, so lookups never lock and always see a consistent version.
+ */
+public final class TypeaheadIndex {
+
+    private static final int MAX_KEY_LENGTH = 64;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Comparator<Suggestion> RANKING = Comparator.comparingLong(Suggestion::weight).reversed()
+            .thenComparing(Suggestion::text)
+            .thenComparingLong(Suggestion::id);
+
+    // Rough per-object sizes for memory reporting, assuming compressed references
+    private static final long NODE_BYTES = 32;
+    private static final long ARRAY_HEADER_BYTES = 16;
+    private static final long REFERENCE_BYTES = 4;
+    private static final long ENTRY_BYTES = 32 + 40;
+    private static final long STRING_BYTES = 40;
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+    private static final Suggestion[] NO_SUGGESTIONS = new Suggestion[0];
+
+    private final int topK;
+    private final Map<Long, Suggestion> entries;
+    private volatile Node root;
+    private volatile Stats stats;
+
+    private TypeaheadIndex(int topK, Map<Long, Suggestion> entries, Node root) {
+        this.topK = topK;
+        this.entries = entries;
+        this.root = root;
+    }
+
+    /**
+     * Create an empty index.
+     *
+     * @param topK the maximum number of suggestions kept per prefix
+     * @return the index
+     */
+    public static TypeaheadIndex empty(int topK) {
+        return new TypeaheadIndex(topK, new ConcurrentHashMap<>(), new Node());
+    }
+
+    /**
+     * Build an index from a stream of entries. Later entries with the same id are ignored.
+     *
+     * @param suggestions the entries
+     * @param topK the maximum number of suggestions kept per prefix
+     * @return the index
+     */
+    public static TypeaheadIndex build(Stream<Suggestion> suggestions, int topK) {
+        Map<Long, Suggestion> entries = new ConcurrentHashMap<>();
+        Node root = new Node();
+        suggestions.forEach(suggestion -> {
+            if (entries.putIfAbsent(suggestion.id(), suggestion) == null) {
+                for (String key : keys(suggestion.text())) {
+                    insertInPlace(root, key, suggestion);
+                }
+            }
+        });
+        rankInPlace(root, topK);
+        return new TypeaheadIndex(topK, entries, root);
+    }
+
+    /**
+     * Get the best entries whose text has a word starting with the given prefix.
+     *
+     * @param prefix the typed prefix
+     * @param limit the maximum number of suggestions, capped at {@code topK}
+     * @return the suggestions, best first
+     */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String key = normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+
+        // The prefix may end inside an edge label; the node below that edge holds the matching subtree
+        Node node = root;
+        int position = 0;
+        while (position < key.length()) {
+            node = node.child(key.charAt(position));
+            if (node == null) {
+                return List.of();
+            }
+            int length = Math.min(node.label.length(), key.length() - position);
+            if (!key.regionMatches(position, node.label, 0, length)) {
+                return List.of();
+            }
+            position += length;
+        }
+        return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+    }
+
+    /**
+     * Get an entry by id.
+     *
+     * @param id the entry id
+     * @return the entry, or null if absent
+     */
+    public Suggestion get(long id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Add an entry, replacing any entry with the same id.
+     *
+     * @param suggestion the entry
+     */
+    public synchronized void put(Suggestion suggestion) {
+        Node updated = removeKeys(root, entries.get(suggestion.id()));
+        for (String key : keys(suggestion.text())) {
+            updated = add(updated, key, 0, suggestion);
+        }
+        entries.put(suggestion.id(), suggestion);
+        root = updated;
+        stats = null;
+    }
+
+    /**
+     * Remove an entry.
+     *
+     * @param id the entry id
+     */
+    public synchronized void remove(long id) {
+        Suggestion previous = entries.remove(id);
+        if (previous != null) {
+            root = removeKeys(root, previous);
+            stats = null;
+        }
+    }
+
+    /**
+     * Get the number of entries.
+     *
+     * @return the number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Get the number of trie nodes. Computed on first use after a change.
+     *
+     * @return the number of nodes
+     */
+    public long nodeCount() {
+        return stats().nodes();
+    }
+
+    /**
+     * Get the estimated heap size of the index in bytes. Computed on first use after a change.
+     *
+     * @return the estimated size in bytes
+     */
+    public long sizeInBytes() {
+        return stats().bytes();
+    }
+
+    /**
+     * Normalize a typed prefix for lookup.
+     *
+     * @param text the typed prefix
+     * @return the normalized prefix, truncated to the maximum key length
+     */
+    static String normalize(String text) {
+        String normalized = normalizeText(text);
+        return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+    }
+
+    /**
+     * Normalize text for indexing and lookup: lower case, no accents, words separated by single spaces.
+     *
+     * @param text the text
+     * @return the normalized text
+     */
+    private static String normalizeText(String text) {
+        if (text == null) {
+            return "";
+        }
+        String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(normalized.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Get the keys of a text, one per word start.
+     *
+     * @param text the text
+     * @return the distinct keys, each at most {@value #MAX_KEY_LENGTH} characters
+     */
+    private static Collection<String> keys(String text) {
+        String normalized = normalizeText(text);
+        // Repeated words can produce the same truncated key twice; an entry is stored once per key
+        Set<String> keys = new LinkedHashSet<>();
+        int start = 0;
+        while (start >= 0 && start < normalized.length()) {
+            keys.add(normalized.substring(start, Math.min(normalized.length(), start + MAX_KEY_LENGTH)));
+            int space = normalized.indexOf(' ', start);
+            start = space < 0 ? -1 : space + 1;
+        }
+        return keys;
+    }
+
+    private static void insertInPlace(Node node, String key, Suggestion suggestion) {
+        int position = 0;
+        while (position < key.length()) {
+            Node child = node.child(key.charAt(position));
+            if (child == null) {
+                node.setChild(leaf(key.substring(position), suggestion));
+                return;
+            }
+            int common = commonPrefixLength(child.label, key, position);
+            if (common < child.label.length()) {
+                Node middle = new Node();
+                middle.label = child.label.substring(0, common);
+                child.label = child.label.substring(common);
+                middle.setChild(child);
+                node.setChild(middle);
+                child = middle;
+            }
+            node = child;
+            position += common;
+        }
+        node.entries = append(node.entries, suggestion);
+    }
+
+    private static void rankInPlace(Node root, int topK) {
+        // Post-order without recursion: children are ranked before their parent
+        Deque<Node> pending = new ArrayDeque<>();
+        Deque<Node> order = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            order.push(node);
+            for (Node child : node.children) {
+                pending.push(child);
+            }
+        }
+        while (!order.isEmpty()) {
+            Node node = order.pop();
+            node.top = rank(node, topK);
+        }
+    }
+
+    private Node add(Node node, String key, int position, Suggestion suggestion) {
+        Node copy = node.copy();
+        if (position == key.length()) {
+            copy.entries = append(copy.entries, suggestion);
+        } else {
+            Node child = copy.child(key.charAt(position));
+            if (child == null) {
+                copy.setChild(leaf(key.substring(position), suggestion));
+            } else {
+                int common = commonPrefixLength(child.label, key, position);
+                if (common < child.label.length()) {
+                    // Split the edge: the existing subtree moves below a new node for the shared part
+                    Node tail = child.copy();
+                    tail.label = child.label.substring(common);
+                    Node middle = new Node();
+                    middle.label = child.label.substring(0, common);
+                    middle.setChild(tail);
+                    middle.top = tail.top;
+                    child = middle;
+                }
+                copy.setChild(add(child, key, position + common, suggestion));
+            }
+        }
+        // Only the new entry was added below this node, so the ranking changes at most by including it
+        copy.top = offer(copy.top, suggestion, topK);
+        return copy;
+    }
+
+    private Node removeKeys(Node node, Suggestion previous) {
+        if (previous == null) {
+            return node;
+        }
+        for (String key : keys(previous.text())) {
+            node = remove(node, key, 0, previous.id());
+        }
+        return node;
+    }
+
+    /**
+     * Remove an entry from the node for a key, pruning nodes left empty and merging nodes left with a single child.
+     *
+     * @return the updated node, or null if it became empty; the root is never removed or merged
+     */
+    private Node remove(Node node, String key, int position, long id) {
+        Node copy = node.copy();
+        if (position == key.length()) {
+            copy.entries = Arrays.stream(copy.entries)
+                    .filter(entry -> entry.id() != id)
+                    .toArray(Suggestion[]::new);
+        } else {
+            char first = key.charAt(position);
+            Node child = copy.child(first);
+            if (child == null || !key.startsWith(child.label, position)) {
+                return node;
+            }
+            Node updatedChild = remove(child, key, position + child.label.length(), id);
+            if (updatedChild != null) {
+                copy.setChild(updatedChild);
+            } else {
+                copy.removeChild(first);
+            }
+        }
+
+        boolean isRoot = position == 0;
+        if (!isRoot && copy.entries.length == 0) {
+            if (copy.children.length == 0) {
+                return null;
+            }
+            if (copy.children.length == 1) {
+                Node merged = copy.children[0].copy();
+                merged.label = copy.label + merged.label;
+                return merged;
+            }
+        }
+        if (contains(copy.top, id)) {
+            copy.top = rank(copy, topK);
+        }
+        return copy;
+    }
+
+    private static Suggestion[] rank(Node node, int topK) {
+        if (node.children.length == 0 && node.entries.length == 1) {
+            // Most nodes are leaves for a single entry; share the array instead of allocating another
+            return node.entries;
+        }
+        Suggestion[] top = NO_SUGGESTIONS;
+        for (Suggestion entry : node.entries) {
+            top = offer(top, entry, topK);
+        }
+        for (Node child : node.children) {
+            for (Suggestion candidate : child.top) {
+                if (top.length == topK && RANKING.compare(candidate, top[topK - 1]) >= 0) {
+                    break;
+                }
+                top = offer(top, candidate, topK);
+            }
+        }
+        return top;
+    }
+
+    /**
+     * Insert a candidate into a ranked array of at most {@code topK} entries.
+     * The same entry can reach a node through more than one of its word starts, so entries already present are skipped.
+     *
+     * @return the updated array, or the same array if the candidate didn't make it
+     */
+    private static Suggestion[] offer(Suggestion[] top, Suggestion candidate, int topK) {
+        if (contains(top, candidate.id())) {
+            return top;
+        }
+        int index = Arrays.binarySearch(top, candidate, RANKING);
+        int insertAt = index >= 0 ? index : -index - 1;
+        if (insertAt >= topK) {
+            return top;
+        }
+        int length = Math.min(top.length + 1, topK);
+        Suggestion[] updated = new Suggestion[length];
+        System.arraycopy(top, 0, updated, 0, insertAt);
+        updated[insertAt] = candidate;
+        System.arraycopy(top, insertAt, updated, insertAt + 1, length - insertAt - 1);
+        return updated;
+    }
+
+    private static boolean contains(Suggestion[] suggestions, long id) {
+        for (Suggestion suggestion : suggestions) {
+            if (suggestion.id() == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Node leaf(String label, Suggestion suggestion) {
+        Node leaf = new Node();
+        leaf.label = label;
+        leaf.entries = new Suggestion[]{suggestion};
+        leaf.top = leaf.entries;
+        return leaf;
+    }
+
+    private static int commonPrefixLength(String label, String key, int position) {
+        int length = Math.min(label.length(), key.length() - position);
+        int common = 0;
+        while (common < length && label.charAt(common) == key.charAt(position + common)) {
+            common++;
+        }
+        return common;
+    }
+
+    private static Suggestion[] append(Suggestion[] array, Suggestion suggestion) {
+        Suggestion[] appended = Arrays.copyOf(array, array.length + 1);
+        appended[array.length] = suggestion;
+        return appended;
+    }
+
+    private Stats stats() {
+        Stats current = stats;
+        if (current == null) {
+            current = computeStats();
+            stats = current;
+        }
+        return current;
+    }
+
+    private Stats computeStats() {
+        long nodes = 0;
+        long bytes = 0;
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            nodes++;
+            bytes += NODE_BYTES
+                    + STRING_BYTES + node.label.length()
+                    + ARRAY_HEADER_BYTES + node.firsts.length * 2L
+                    + ARRAY_HEADER_BYTES + node.children.length * REFERENCE_BYTES
+                    + ARRAY_HEADER_BYTES + node.entries.length * REFERENCE_BYTES
+                    + ARRAY_HEADER_BYTES + node.top.length * REFERENCE_BYTES;
+            for (Node child : node.children) {
+                pending.push(child);
+            }
+        }
+        for (Suggestion entry : entries.values()) {
+            bytes += ENTRY_BYTES + entry.text().length();
+        }
+        return new Stats(nodes, bytes);
+    }
+
+    /**
+     * An indexed entry.
+     *
+     * @param id the id of the indexed object
+     * @param text the text shown to the user
+     * @param weight the popularity weight; higher weights are suggested first
+     */
+    public record Suggestion(long id, String text, long weight) {
+    }
+
+    private record Stats(long nodes, long bytes) {
+    }
+
+    /**
+     * Radix trie node. Nodes reachable from a published root are never modified; updates work on copies.
+     */
+    private static final class Node {
+
+        /**
+         * Label of the edge from the parent; empty only for the root.
+         */
+        private String label = "";
+
+        /**
+         * First character of each child's label, sorted, parallel to {@code children}.
+         */
+        private char[] firsts = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        private Suggestion[] entries = NO_SUGGESTIONS;
+        private Suggestion[] top = NO_SUGGESTIONS;
+
+        private Node copy() {
+            Node copy = new Node();
+            copy.label = label;
+            copy.firsts = firsts;
+            copy.children = children.clone();
+            copy.entries = entries;
+            copy.top = top;
+            return copy;
+        }
+
+        private Node child(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void setChild(Node child) {
+            char first = child.label.charAt(0);
+            int index = Arrays.binarySearch(firsts, first);
+            if (index >= 0) {
+                children[index] = child;
+                return;
+            }
+
+            int insertAt = -index - 1;
+            char[] newFirsts = new char[firsts.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, insertAt);
+            System.arraycopy(children, 0, newChildren, 0, insertAt);
+            newFirsts[insertAt] = first;
+            newChildren[insertAt] = child;
+            System.arraycopy(firsts, insertAt, newFirsts, insertAt + 1, firsts.length - insertAt);
+            System.arraycopy(children, insertAt, newChildren, insertAt + 1, children.length - insertAt);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        private void removeChild(char first) {
+            int index = Arrays.binarySearch(firsts, first);
+            if (index < 0) {
+                return;
+            }
+
+            char[] newFirsts = new char[firsts.length - 1];
+            Node[] newChildren = new Node[children.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            System.arraycopy(firsts, index + 1, newFirsts, index, firsts.length - index - 1);
+            System.arraycopy(children, index + 1, newChildren, index, children.length - index - 1);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.strivesync.util;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Requires a recurrence pattern that {@link RecurrenceRule#compile} accepts. Null and blank patterns are valid:
+ * a recurring task without a pattern recurs daily.
+ */
+@Documented
+@Constraint(validatedBy = RecurrencePatternValidator.class)
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ValidRecurrencePattern {
+
+    String message() default "Unsupported recurrence pattern";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,3 @@
+-- Security version stamp embedded in access tokens.
+-- Bumped whenever a user's roles, password hash or enabled flag change, which invalidates older tokens.
+ALTER TABLE users ADD COLUMN security_version BIGINT NOT NULL DEFAULT 0;
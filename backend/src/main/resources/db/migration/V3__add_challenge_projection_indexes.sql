@@ -0,0 +1,3 @@
+-- Indexes backing the participant and task count subqueries of the challenge list projections.
+CREATE INDEX IF NOT EXISTS idx_user_challenges_challenge_id ON user_challenges (challenge_id);
+CREATE INDEX IF NOT EXISTS idx_challenge_tasks_challenge_id ON challenge_tasks (challenge_id);
@@ -0,0 +1,5 @@
+-- Indexes matching the (sort key, id) order of the keyset-paginated listings, so each slice is an index range scan.
+CREATE INDEX IF NOT EXISTS idx_challenges_created_at_id ON challenges (created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_challenges_status_created_at_id ON challenges (status, created_at DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_completions_user_date_id ON task_completions (user_id, completion_date DESC, id DESC);
+CREATE INDEX IF NOT EXISTS idx_task_completions_status_date_id ON task_completions (verification_status, completion_date, id);
@@ -0,0 +1,9 @@
+-- Weighted full-text search vector for challenges: title matches (A) rank above description matches (B).
+-- The column is generated, so it stays in sync with every write without application code or triggers.
+ALTER TABLE challenges ADD COLUMN search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+
+CREATE INDEX idx_challenges_search_vector ON challenges USING GIN (search_vector);
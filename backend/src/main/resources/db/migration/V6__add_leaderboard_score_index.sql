@@ -0,0 +1,4 @@
+-- Partial covering index for summing approved points per user in a challenge: leaderboard rebuilds
+-- and catch-ups read only approved completions of the challenge's tasks, without touching the table.
+CREATE INDEX IF NOT EXISTS idx_task_completions_approved_task_user
+    ON task_completions (task_id, user_id) WHERE verification_status = 'APPROVED';
@@ -0,0 +1,4 @@
+-- Client-chosen idempotency key of a submitted completion, unique per user, so resubmitted batches insert nothing.
+ALTER TABLE task_completions ADD COLUMN IF NOT EXISTS client_key VARCHAR(64);
+CREATE UNIQUE INDEX IF NOT EXISTS uq_task_completions_user_client_key
+    ON task_completions (user_id, client_key) WHERE client_key IS NOT NULL;
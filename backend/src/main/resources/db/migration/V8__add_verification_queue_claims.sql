@@ -0,0 +1,8 @@
+-- Reviewer lease on a pending completion; an expired lease makes the completion claimable again.
+ALTER TABLE task_completions
+    ADD COLUMN IF NOT EXISTS claimed_by BIGINT,
+    ADD COLUMN IF NOT EXISTS claim_expires_at TIMESTAMP;
+
+-- Only pending completions are ever claimed, so the queue index stays as small as the backlog.
+CREATE INDEX IF NOT EXISTS idx_task_completions_pending_queue
+    ON task_completions (completion_date, id) WHERE verification_status = 'PENDING';
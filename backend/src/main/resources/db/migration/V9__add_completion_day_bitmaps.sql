@@ -0,0 +1,12 @@
+-- Days with approved completions per (user, task) and per (user, challenge), as serialized Roaring bitmaps indexed
+-- by epoch day. Derived from task_completions: a missing row is rebuilt from it on first read.
+CREATE TABLE IF NOT EXISTS completion_day_bitmaps (
+    user_id BIGINT NOT NULL,
+    scope VARCHAR(16) NOT NULL,
+    scope_id BIGINT NOT NULL,
+    days BYTEA NOT NULL,
+    updated_at TIMESTAMP NOT NULL DEFAULT now(),
+    PRIMARY KEY (user_id, scope, scope_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_completion_day_bitmaps_scope ON completion_day_bitmaps (scope, scope_id);
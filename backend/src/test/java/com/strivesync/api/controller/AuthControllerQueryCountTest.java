@@ -0,0 +1,129 @@
+package com.strivesync.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that each authentication endpoint reads the user at most once, counting the JDBC statements
+ * Hibernate prepares while the request is handled, including those that load the user's roles.
+ */
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.flyway.enabled=false"
+})
+@AutoConfigureMockMvc
+class AuthControllerQueryCountTest {
+
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:16-alpine");
+    private static final GenericContainer<?> REDIS = new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+    private static final String PASSWORD = "correct-horse-battery";
+
+    static {
+        POSTGRES.start();
+        REDIS.start();
+    }
+
+    @DynamicPropertySource
+    static void containers(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.data.redis.host", REDIS::getHost);
+        registry.add("spring.data.redis.port", () -> REDIS.getMappedPort(6379));
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String username;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        username = "user-" + UUID.randomUUID().toString().substring(0, 8);
+    }
+
+    @Test
+    void registerInsertsTheUserWithoutReadingItBack() throws Exception {
+        statistics.clear();
+
+        register();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getQueryExecutionCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void loginLoadsTheUserOnce() throws Exception {
+        register();
+        statistics.clear();
+
+        JsonNode response = postJson("/api/auth/login", Map.of("usernameOrEmail", username, "password", PASSWORD));
+
+        assertThat(response.path("user").path("username").asText()).isEqualTo(username);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+        assertThat(statistics.getEntityInsertCount() + statistics.getEntityUpdateCount()).isZero();
+    }
+
+    @Test
+    void refreshLoadsTheUserOnce() throws Exception {
+        String refreshToken = register().path("refreshToken").asText();
+        statistics.clear();
+
+        JsonNode response = postJson("/api/auth/refresh", Map.of("refreshToken", refreshToken));
+
+        assertThat(response.path("user").path("username").asText()).isEqualTo(username);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(1);
+    }
+
+    private JsonNode register() throws Exception {
+        return postJson("/api/auth/register", Map.of(
+                "username", username,
+                "email", username + "@example.com",
+                "password", PASSWORD,
+                "fullName", "Query Count"));
+    }
+
+    private JsonNode postJson(String path, Map<String, String> body) throws Exception {
+        String response = mockMvc.perform(post(path)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().is2xxSuccessful())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(response);
+    }
+}
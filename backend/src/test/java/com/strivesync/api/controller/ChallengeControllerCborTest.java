@@ -0,0 +1,114 @@
+package com.strivesync.api.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.strivesync.api.dto.response.ChallengeDetailResponse;
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
+import com.strivesync.config.WebConfig;
+import com.strivesync.domain.Challenge;
+import com.strivesync.security.JwtAuthenticationFilter;
+import com.strivesync.service.ChallengeService;
+import com.strivesync.service.DiscoverResponseCache;
+import com.strivesync.service.SuggestionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifies that a client asking for CBOR gets the same document as a JSON client, encoded as CBOR.
+ */
+@WebMvcTest(controllers = ChallengeController.class,
+        excludeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE, classes = JwtAuthenticationFilter.class))
+@AutoConfigureMockMvc(addFilters = false)
+@Import(WebConfig.class)
+class ChallengeControllerCborTest {
+
+    private static final MediaType APPLICATION_CBOR = MediaType.valueOf("application/cbor");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChallengeService challengeService;
+
+    @MockBean
+    private SuggestionService suggestionService;
+
+    @MockBean
+    private DiscoverResponseCache discoverResponseCache;
+
+    @BeforeEach
+    void setUp() {
+        ChallengeDetailResponse challenge = ChallengeDetailResponse.builder()
+                .id(7L)
+                .title("Morning Run")
+                .description("Run before work")
+                .status(Challenge.ChallengeStatus.UPCOMING)
+                .startDate(LocalDate.of(2024, 5, 6))
+                .endDate(LocalDate.of(2024, 5, 19))
+                .isPrivate(false)
+                .createdById(3L)
+                .createdByUsername("runner")
+                .participantCount(12L)
+                .createdAt(LocalDateTime.of(2024, 4, 30, 8, 15))
+                .tasks(List.of(ChallengeTaskResponse.builder()
+                        .id(70L)
+                        .title("5k")
+                        .points(10)
+                        .recurring(false)
+                        .build()))
+                .build();
+        when(challengeService.getChallenge(7L)).thenReturn(Optional.of(challenge));
+        when(challengeService.getChallengeETag(any(ChallengeDetailResponse.class))).thenReturn("\"7-1\"");
+    }
+
+    @Test
+    void cborResponseHasTheJsonDocumentShape() throws Exception {
+        MvcResult json = mockMvc.perform(get("/api/challenges/7").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andReturn();
+        MvcResult cbor = mockMvc.perform(get("/api/challenges/7").accept(APPLICATION_CBOR))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(APPLICATION_CBOR))
+                .andReturn();
+
+        JsonNode fromJson = new ObjectMapper().readTree(json.getResponse().getContentAsByteArray());
+        JsonNode fromCbor = new CBORMapper().readTree(cbor.getResponse().getContentAsByteArray());
+
+        assertThat(fromCbor).isEqualTo(fromJson);
+        assertThat(fromCbor.path("startDate").asText()).isEqualTo("2024-05-06");
+        assertThat(fromCbor.path("createdAt").asText()).isEqualTo("2024-04-30T08:15:00");
+        assertThat(fromCbor.has("updatedAt")).isFalse();
+        assertThat(fromCbor.path("tasks").get(0).has("description")).isFalse();
+    }
+
+    @Test
+    void jsonStaysTheDefault() throws Exception {
+        mockMvc.perform(get("/api/challenges/7"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+}
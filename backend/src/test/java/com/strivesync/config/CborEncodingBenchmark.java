@@ -0,0 +1,188 @@
+package com.strivesync.config;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.strivesync.api.dto.response.ChallengeDetailResponse;
+import com.strivesync.api.dto.response.ChallengeSummaryResponse;
+import com.strivesync.api.dto.response.ChallengeTaskResponse;
+import com.strivesync.domain.Challenge;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the payload size and encoding throughput of JSON and CBOR for the largest challenge responses.
+ * <p>
+ * Run with {@code mvn -B test-compile exec:java -Dexec.mainClass=com.strivesync.config.CborEncodingBenchmark
+ * -Dexec.classpathScope=test}, or from the IDE through {@link #main(String[])}. Payload sizes are printed before
+ * the throughput runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CborEncodingBenchmark {
+
+    @Param({"detail", "listing"})
+    private String payload;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private Object value;
+    private JavaType type;
+    private byte[] json;
+    private byte[] cbor;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = applicationObjectMapperBuilder().build();
+        cborMapper = cborMapper();
+        value = "detail".equals(payload) ? challengeDetail() : challengeListing();
+        type = "detail".equals(payload)
+                ? jsonMapper.constructType(ChallengeDetailResponse.class)
+                : jsonMapper.getTypeFactory().constructCollectionType(List.class, ChallengeSummaryResponse.class);
+        json = jsonMapper.writeValueAsBytes(value);
+        cbor = cborMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] writeJson() throws IOException {
+        return jsonMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public byte[] writeCbor() throws IOException {
+        return cborMapper.writeValueAsBytes(value);
+    }
+
+    @Benchmark
+    public Object readJson() throws IOException {
+        return jsonMapper.readValue(json, type);
+    }
+
+    @Benchmark
+    public Object readCbor() throws IOException {
+        return cborMapper.readValue(cbor, type);
+    }
+
+    public static void main(String[] args) throws IOException, RunnerException {
+        ObjectMapper jsonMapper = applicationObjectMapperBuilder().build();
+        ObjectMapper cborMapper = cborMapper();
+        for (Object value : List.of(challengeDetail(), challengeListing())) {
+            int jsonBytes = jsonMapper.writeValueAsBytes(value).length;
+            int cborBytes = cborMapper.writeValueAsBytes(value).length;
+            System.out.printf("%s: JSON %d bytes, CBOR %d bytes (%.0f%%)%n",
+                    value instanceof List ? "listing" : "detail", jsonBytes, cborBytes, 100.0 * cborBytes / jsonBytes);
+        }
+        new Runner(new OptionsBuilder().include(CborEncodingBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * Build a Jackson builder with the settings of the {@code spring.jackson} section of application.yml.
+     *
+     * @return the builder
+     */
+    private static Jackson2ObjectMapperBuilder applicationObjectMapperBuilder() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .serializationInclusion(JsonInclude.Include.NON_NULL);
+    }
+
+    /**
+     * Get the mapper of the CBOR converter the application registers.
+     *
+     * @return the CBOR mapper
+     */
+    private static ObjectMapper cborMapper() {
+        MappingJackson2CborHttpMessageConverter converter =
+                new WebConfig().cborHttpMessageConverter(applicationObjectMapperBuilder());
+        return converter.getObjectMapper();
+    }
+
+    /**
+     * Build a challenge with a typical number of tasks, the largest single-object response.
+     *
+     * @return the challenge details
+     */
+    private static ChallengeDetailResponse challengeDetail() {
+        List<ChallengeTaskResponse> tasks = new ArrayList<>();
+        for (long i = 1; i <= 20; i++) {
+            tasks.add(ChallengeTaskResponse.builder()
+                    .id(i)
+                    .title("Task " + i)
+                    .description("Complete task " + i + " and attach a short note on how it went.")
+                    .points((int) (i * 5))
+                    .recurring(i % 2 == 0)
+                    .recurrencePattern(i % 2 == 0 ? "FREQ=WEEKLY;BYDAY=MO,WE,FR" : null)
+                    .updatedAt(LocalDateTime.of(2024, 3, 1, 9, 30).plusMinutes(i))
+                    .build());
+        }
+        return ChallengeDetailResponse.builder()
+                .id(42L)
+                .title("30 Day Fitness")
+                .description("Move every day for thirty days: runs, rides, yoga and strength sessions all count.")
+                .status(Challenge.ChallengeStatus.ACTIVE)
+                .startDate(LocalDate.of(2024, 3, 1))
+                .endDate(LocalDate.of(2024, 3, 30))
+                .isPrivate(false)
+                .createdById(7L)
+                .createdByUsername("coach.kim")
+                .createdByFullName("Kim Coach")
+                .participantCount(1284L)
+                .createdAt(LocalDateTime.of(2024, 2, 20, 12, 0))
+                .updatedAt(LocalDateTime.of(2024, 2, 28, 18, 45))
+                .tasks(tasks)
+                .build();
+    }
+
+    /**
+     * Build a page worth of challenge summaries, the largest listing response.
+     *
+     * @return the challenge summaries
+     */
+    private static List<ChallengeSummaryResponse> challengeListing() {
+        List<ChallengeSummaryResponse> summaries = new ArrayList<>();
+        for (long i = 1; i <= 50; i++) {
+            summaries.add(ChallengeSummaryResponse.builder()
+                    .id(i)
+                    .title("Challenge " + i)
+                    .status(Challenge.ChallengeStatus.ACTIVE)
+                    .startDate(LocalDate.of(2024, 3, 1).plusDays(i))
+                    .endDate(LocalDate.of(2024, 4, 1).plusDays(i))
+                    .isPrivate(false)
+                    .createdById(i % 10)
+                    .createdByUsername("user" + (i % 10))
+                    .participantCount(i * 37)
+                    .taskCount(i % 12)
+                    .createdAt(LocalDateTime.of(2024, 2, 1, 8, 0).plusHours(i))
+                    .build());
+        }
+        return summaries;
+    }
+}